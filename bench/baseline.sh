@@ -0,0 +1,30 @@
+#!/bin/sh
+# Reproduces bench/results/baseline.txt. Build first with: mvn -B package -DskipTests
+#
+# The full parameter matrix takes hours on a small machine, so the baseline covers
+# the grid graphs the visualizer generates by default and sparse uniform graphs,
+# with short iterations. Contraction hierarchies are skipped on uniform graphs,
+# where preprocessing takes minutes (see ShortestPathBenchmark).
+set -e
+cd "$(dirname "$0")/.."
+JAR=bench/target/benchmarks.jar
+OPTS="-f 1 -wi 1 -w 1 -i 3 -r 1 -prof gc"
+
+java -jar $JAR $OPTS "ShortestPathBenchmark|TraversalBenchmark" \
+    -p topology=GRID -p nodeCount=1000,100000 -p averageDegree=3 -p maxWeight=1000
+
+java -jar $JAR $OPTS "ShortestPathBenchmark" \
+    -p topology=UNIFORM -p algorithm=DIJKSTRA,BIDIRECTIONAL,ALT \
+    -p nodeCount=1000,100000 -p averageDegree=8 -p maxWeight=1000
+
+java -jar $JAR $OPTS "TraversalBenchmark" \
+    -p topology=UNIFORM -p nodeCount=1000,100000 -p averageDegree=8 -p maxWeight=1000
+
+java -jar $JAR $OPTS "GeneratorBenchmark" \
+    -p nodeCount=100000 -p averageDegree=8 -p maxWeight=1000
+
+java -jar $JAR $OPTS "ConnectivityBenchmark" \
+    -p topology=GRID -p nodeCount=1000,100000 -p averageDegree=3 -p maxWeight=1000
+
+java -jar $JAR $OPTS "ConnectivityBenchmark" \
+    -p topology=UNIFORM -p nodeCount=1000,100000 -p averageDegree=8 -p maxWeight=1000
@@ -0,0 +1,126 @@
+package routing.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import routing.ConnectivityIndex;
+import routing.CsrGraph;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The connectivity check behind the visualizer's disconnected-graph warning: a full
+ * rebuild of the index, as after generating or loading a graph, and the incremental
+ * update for deleting an edge and adding it back, as after a topology edit.
+ *
+ * Deleting an edge costs very different amounts depending on whether it is in the
+ * index's spanning forest, so the two cases are measured separately. Deleting a
+ * non-forest edge leaves the forest as it was. Deleting a forest edge runs the
+ * lockstep search for the smaller side and the scan for a replacement edge.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectivityBenchmark extends GraphBenchmark {
+
+    // Each edit needs a copy of the graph without the edge, so only a few are prepared
+    private static final int EDIT_COUNT = 8;
+
+    private CsrGraph graph;
+    private ConnectivityIndex index;
+    private Edits nonForestEdits;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = buildGraph();
+        index = new ConnectivityIndex(graph);
+        nonForestEdits = new Edits(graph, index, false, SEED);
+    }
+
+    @Benchmark
+    public ConnectivityIndex rebuild() {
+        return new ConnectivityIndex(graph);
+    }
+
+    @Benchmark
+    public int removeAndRestoreNonForestEdge() {
+        int i = next++ % EDIT_COUNT;
+        return removeAndRestore(index, nonForestEdits, i);
+    }
+
+    @Benchmark
+    public int removeAndRestoreForestEdge(ForestState state) {
+        return removeAndRestore(state.index, state.edits, state.next);
+    }
+
+    private static int removeAndRestore(ConnectivityIndex index, Edits edits, int i) {
+        index.removeEdge(edits.u[i], edits.v[i], edits.without[i]);
+        int components = index.componentCount();
+        index.addEdge(edits.u[i], edits.v[i]);
+        return components;
+    }
+
+    /**
+     * An index whose next edit is always a forest edge. Deleting a forest edge that
+     * has a replacement puts the replacement into the forest, and adding the edge
+     * back then leaves it outside; when that has happened the index is rebuilt
+     * before the next invocation, outside the measured time.
+     */
+    @State(Scope.Thread)
+    public static class ForestState {
+        private CsrGraph graph;
+        private ConnectivityIndex index;
+        private Edits edits;
+        private int next = -1;
+
+        @Setup(Level.Trial)
+        public void setUp(ConnectivityBenchmark benchmark) {
+            graph = benchmark.graph;
+            index = new ConnectivityIndex(graph);
+            edits = new Edits(graph, index, true, SEED ^ 1);
+        }
+
+        @Setup(Level.Invocation)
+        public void nextEdit() {
+            next = (next + 1) % EDIT_COUNT;
+            if (!index.isForestEdge(edits.u[next], edits.v[next])) {
+                index.rebuild(graph);
+            }
+        }
+    }
+
+    /** EDIT_COUNT random edges that are, or are not, in the index's forest. */
+    private static final class Edits {
+        final int[] u = new int[EDIT_COUNT];
+        final int[] v = new int[EDIT_COUNT];
+        final CsrGraph[] without = new CsrGraph[EDIT_COUNT];
+
+        Edits(CsrGraph graph, ConnectivityIndex index, boolean forest, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < EDIT_COUNT; i++) {
+                int a;
+                int b;
+                do {
+                    a = random.nextInt(graph.nodeCount());
+                    b = graph.degree(a) == 0 ? a
+                            : graph.arcTarget(graph.firstArc(a) + random.nextInt(graph.degree(a)));
+                } while (a == b || index.isForestEdge(a, b) != forest);
+                u[i] = a;
+                v[i] = b;
+                without[i] = graph.withoutEdge(a, b);
+            }
+        }
+    }
+}
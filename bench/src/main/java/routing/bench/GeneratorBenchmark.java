@@ -0,0 +1,46 @@
+package routing.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import routing.CsrGraph;
+import routing.RandomGraphs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph generation for every topology the visualizer offers, including packing the
+ * edges into a {@link CsrGraph}. Parameters mean the same as in {@link GraphBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"UNIFORM", "GRID", "GEOMETRIC", "SCALE_FREE", "SMALL_WORLD"})
+    public RandomGraphs.Topology topology;
+
+    @Param({"1000", "100000"})
+    public int nodeCount;
+
+    @Param({"3", "8"})
+    public int averageDegree;
+
+    @Param({"10", "1000"})
+    public int maxWeight;
+
+    @Benchmark
+    public CsrGraph generate() {
+        return GraphBenchmark.generate(topology, nodeCount, averageDegree, maxWeight);
+    }
+}
@@ -0,0 +1,65 @@
+package routing.bench;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import routing.CsrGraph;
+import routing.RandomGraphs;
+
+import java.util.SplittableRandom;
+
+/**
+ * Graph parameters shared by the engine benchmarks.
+ *
+ * Graphs are road-like grids or uniform random G(n, p) graphs. Density is given as
+ * the average degree rather than as p, so the same setting means the same sparsity
+ * at every node count: p is averageDegree / (nodeCount - 1), and a grid keeps
+ * averageDegree / 4 of its lattice edges (all of them from degree 4 up). Graphs and
+ * query endpoints are drawn from {@link #SEED}, so every run measures the same inputs.
+ */
+@State(Scope.Benchmark)
+public abstract class GraphBenchmark {
+
+    /** Seed of every generated graph and query set. */
+    public static final long SEED = 0x5eedL;
+
+    /** Number of query endpoints drawn per trial; benchmarks cycle through them. */
+    static final int QUERY_COUNT = 1024;
+
+    @Param({"GRID", "UNIFORM"})
+    public RandomGraphs.Topology topology;
+
+    @Param({"1000", "100000"})
+    public int nodeCount;
+
+    @Param({"3", "8"})
+    public int averageDegree;
+
+    @Param({"10", "1000"})
+    public int maxWeight;
+
+    protected CsrGraph buildGraph() {
+        return generate(topology, nodeCount, averageDegree, maxWeight);
+    }
+
+    /** Generates a graph of topology with about the given average degree. */
+    static CsrGraph generate(RandomGraphs.Topology topology, int nodeCount, int averageDegree, int maxWeight) {
+        double density;
+        if (topology == RandomGraphs.Topology.GRID) {
+            density = Math.min(1.0, averageDegree / 4.0);
+        } else {
+            density = nodeCount > 1 ? averageDegree / (double) (nodeCount - 1) : 0;
+        }
+        return topology.generate(nodeCount, density, maxWeight, SEED);
+    }
+
+    /** QUERY_COUNT node indices drawn uniformly from the graph, the same for every run. */
+    protected int[] randomNodes(long salt) {
+        SplittableRandom random = new SplittableRandom(SEED ^ salt);
+        int[] nodes = new int[QUERY_COUNT];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = random.nextInt(nodeCount);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,67 @@
+package routing.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import routing.Route;
+import routing.RoutingEngine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-to-point queries, the work behind the visualizer's shortest-path step and
+ * the batch router. Throughput mode gives queries per second; sample mode gives the
+ * latency distribution of single queries. Preprocessing (landmarks, contraction) is
+ * done in setup and not measured. The all-pairs table is left out: it needs n^2
+ * memory and is only meant for small graphs.
+ *
+ * Contraction hierarchies suit road-like graphs. On uniform random graphs contraction
+ * adds shortcuts rapidly, and preprocessing 10,000 nodes already takes minutes, so
+ * large uniform graphs are best benchmarked with the other algorithms only.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShortestPathBenchmark extends GraphBenchmark {
+
+    @Param({"DIJKSTRA", "BIDIRECTIONAL", "ALT", "CONTRACTION_HIERARCHIES"})
+    public RoutingEngine.Algorithm algorithm;
+
+    private RoutingEngine engine;
+    private int[] sources;
+    private int[] destinations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new RoutingEngine(buildGraph());
+        sources = randomNodes(1);
+        destinations = randomNodes(2);
+        if (algorithm == RoutingEngine.Algorithm.ALT) {
+            engine.landmarks();
+        } else if (algorithm == RoutingEngine.Algorithm.CONTRACTION_HIERARCHIES) {
+            engine.hierarchy();
+        }
+    }
+
+    @Benchmark
+    public Route route() {
+        int i = next++ & (QUERY_COUNT - 1);
+        return engine.shortestPath(sources[i], destinations[i], algorithm);
+    }
+
+    @Benchmark
+    public int distance() {
+        int i = next++ & (QUERY_COUNT - 1);
+        return engine.distance(sources[i], destinations[i], algorithm);
+    }
+}
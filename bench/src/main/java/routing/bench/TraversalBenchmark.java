@@ -0,0 +1,88 @@
+package routing.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import routing.DfsCursor;
+import routing.DfsEngine;
+import routing.DfsTrace;
+import routing.RoutingEngine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Depth-first traversals as the visualizer runs them: the callback engine, the
+ * resumable cursor that feeds the animation, and recording a full packed trace.
+ * Each operation searches from a random source to a random destination.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraversalBenchmark extends GraphBenchmark {
+
+    private RoutingEngine engine;
+    private DfsEngine dfs;
+    private int[] sources;
+    private int[] destinations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new RoutingEngine(buildGraph());
+        dfs = new DfsEngine(engine.graph());
+        sources = randomNodes(3);
+        destinations = randomNodes(4);
+    }
+
+    @Benchmark
+    public boolean engine(Blackhole blackhole) {
+        int i = next++ & (QUERY_COUNT - 1);
+        return dfs.run(sources[i], destinations[i], new DfsEngine.StepSink() {
+            @Override
+            public void visit(int node, int parent, int viaArc) {
+                blackhole.consume(node);
+            }
+
+            @Override
+            public void consider(int node, int arc) {
+                blackhole.consume(arc);
+            }
+
+            @Override
+            public void allVisited(int node) {
+                blackhole.consume(node);
+            }
+        });
+    }
+
+    @Benchmark
+    public int cursor(Blackhole blackhole) {
+        int i = next++ & (QUERY_COUNT - 1);
+        DfsCursor cursor = engine.traversalCursor(sources[i], destinations[i]);
+        while (cursor.advance()) {
+            blackhole.consume(cursor.step());
+        }
+        return cursor.stepCount();
+    }
+
+    @Benchmark
+    public DfsTrace trace() {
+        int i = next++ & (QUERY_COUNT - 1);
+        return DfsTrace.record(engine.traversalCursor(sources[i], destinations[i]));
+    }
+
+    @Benchmark
+    public boolean reachable() {
+        int i = next++ & (QUERY_COUNT - 1);
+        return engine.isReachable(sources[i], destinations[i]);
+    }
+}
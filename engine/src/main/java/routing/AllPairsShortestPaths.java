@@ -0,0 +1,169 @@
+package routing;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest distances and next hops, computed with a tiled, multi-threaded
+ * Floyd-Warshall.
+ *
+ * Both matrices are flat row-major int arrays padded to a multiple of the tile size.
+ * For each diagonal tile k the algorithm first closes tile (k, k), then the tiles in
+ * row k and column k, then every remaining tile; tiles within the second and third
+ * phases are independent and are processed in parallel. A 64 x 64 int tile is 16 KB,
+ * so the three tiles a kernel touches stay resident in L1/L2.
+ *
+ * After precomputation a distance lookup is O(1) and a path is recovered in
+ * O(path length) by following next hops. Memory is two n x n int matrices, so this
+ * is meant for graphs of up to a few tens of thousands of nodes.
+ */
+public final class AllPairsShortestPaths {
+
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    /** Largest node count whose padded matrix still fits in an int-indexed array. */
+    public static final int MAX_NODES = 46_000;
+
+    // Half of Integer.MAX_VALUE so that INF + INF cannot overflow during relaxation
+    private static final int INF = Integer.MAX_VALUE / 2;
+
+    private final int nodeCount;
+    private final int stride;
+    private final int tileSize;
+    private final int[] distance;
+    private final int[] nextHop;
+
+    private AllPairsShortestPaths(int nodeCount, int stride, int tileSize, int[] distance, int[] nextHop) {
+        this.nodeCount = nodeCount;
+        this.stride = stride;
+        this.tileSize = tileSize;
+        this.distance = distance;
+        this.nextHop = nextHop;
+    }
+
+    public static AllPairsShortestPaths compute(CsrGraph graph) {
+        return compute(graph, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Computes all-pairs shortest paths using tiles of the given size. Parallel phases
+     * run on the fork-join pool of the calling thread (the common pool by default).
+     */
+    public static AllPairsShortestPaths compute(CsrGraph graph, int tileSize) {
+        int n = graph.nodeCount;
+        if (n > MAX_NODES) {
+            throw new IllegalArgumentException("All-pairs table supports at most " + MAX_NODES + " nodes, got " + n);
+        }
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+        }
+
+        int tiles = Math.max(1, (n + tileSize - 1) / tileSize);
+        int stride = tiles * tileSize;
+        int[] distance = new int[stride * stride];
+        int[] nextHop = new int[stride * stride];
+        Arrays.fill(distance, INF);
+        Arrays.fill(nextHop, -1);
+
+        for (int u = 0; u < stride; u++) {
+            distance[u * stride + u] = 0;
+            nextHop[u * stride + u] = u;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int arc = graph.offsets[u]; arc < graph.offsets[u + 1]; arc++) {
+                int v = graph.targets[arc];
+                int index = u * stride + v;
+                distance[index] = graph.weights[arc];
+                nextHop[index] = v;
+            }
+        }
+
+        AllPairsShortestPaths table = new AllPairsShortestPaths(n, stride, tileSize, distance, nextHop);
+        table.run(tiles);
+        return table;
+    }
+
+    private void run(int tiles) {
+        for (int k = 0; k < tiles; k++) {
+            final int kb = k;
+
+            // Phase 1: the diagonal tile depends only on itself
+            relaxTile(kb, kb, kb);
+
+            // Phase 2: tiles in row k and column k depend on the diagonal tile
+            IntStream.range(0, 2 * tiles).parallel().forEach(t -> {
+                int other = t >> 1;
+                if (other == kb) return;
+                if ((t & 1) == 0) {
+                    relaxTile(kb, other, kb);
+                } else {
+                    relaxTile(other, kb, kb);
+                }
+            });
+
+            // Phase 3: every other tile depends on its row-k and column-k tiles
+            IntStream.range(0, tiles * tiles).parallel().forEach(t -> {
+                int i = t / tiles;
+                int j = t % tiles;
+                if (i == kb || j == kb) return;
+                relaxTile(i, j, kb);
+            });
+        }
+    }
+
+    /** Relaxes tile (ib, jb) through every intermediate node of tile kb. */
+    private void relaxTile(int ib, int jb, int kb) {
+        final int[] d = distance;
+        final int[] next = nextHop;
+        final int b = tileSize;
+        final int rowStart = ib * b;
+        final int colStart = jb * b;
+        final int kStart = kb * b;
+
+        for (int k = kStart; k < kStart + b; k++) {
+            int kRow = k * stride;
+            for (int i = rowStart; i < rowStart + b; i++) {
+                int iRow = i * stride;
+                int dik = d[iRow + k];
+                if (dik >= INF) continue;
+                int hop = next[iRow + k];
+                for (int j = colStart; j < colStart + b; j++) {
+                    int candidate = dik + d[kRow + j];
+                    if (candidate < d[iRow + j]) {
+                        d[iRow + j] = candidate;
+                        next[iRow + j] = hop;
+                    }
+                }
+            }
+        }
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /** Shortest distance from source to destination, or {@link ShortestPathEngine#UNREACHABLE}. */
+    public int distance(int source, int destination) {
+        int d = distance[source * stride + destination];
+        return d >= INF ? ShortestPathEngine.UNREACHABLE : d;
+    }
+
+    /** Recovers the shortest route by following next hops, in O(path length). */
+    public Route route(int source, int destination) {
+        int d = distance(source, destination);
+        if (d == ShortestPathEngine.UNREACHABLE) {
+            return Route.unreachable(source, destination);
+        }
+        int length = 1;
+        for (int node = source; node != destination; node = nextHop[node * stride + destination]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int node = source;
+        for (int i = 0; i < length; i++) {
+            path[i] = node;
+            node = nextHop[node * stride + destination];
+        }
+        return Route.of(d, path);
+    }
+}
@@ -0,0 +1,133 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Goal-directed A* search using landmark lower bounds (ALT).
+ *
+ * Nodes are queued by g(v) + h(v), where g is the distance from the source and h is
+ * the {@link LandmarkIndex} bound towards the target. The landmark bound is
+ * consistent, so every node is settled at most once and the first time the target
+ * is settled its distance is exact. The search concentrates on nodes between the
+ * source and the target instead of expanding a ball around the source.
+ *
+ * An engine holds per-query scratch state and must not be shared between threads.
+ */
+public final class AltSearch {
+
+    private final CsrGraph graph;
+    private final LandmarkIndex landmarks;
+    private final int[] distance;
+    private final int[] predecessor;
+    private final int[] bound;
+    private final int[] touched;
+    private final IndexedDaryHeap heap;
+    private int touchedCount;
+    private int settledCount;
+    private int scannedArcs;
+    private int relaxations;
+
+    public AltSearch(CsrGraph graph, LandmarkIndex landmarks) {
+        if (landmarks.nodeCount() != graph.nodeCount) {
+            throw new IllegalArgumentException("Landmark index covers " + landmarks.nodeCount()
+                    + " nodes but the graph has " + graph.nodeCount);
+        }
+        this.graph = graph;
+        this.landmarks = landmarks;
+        int n = graph.nodeCount;
+        this.distance = new int[n];
+        this.predecessor = new int[n];
+        this.bound = new int[n];
+        this.touched = new int[n];
+        this.heap = new IndexedDaryHeap(n);
+        Arrays.fill(distance, ShortestPathEngine.UNREACHABLE);
+        Arrays.fill(predecessor, -1);
+    }
+
+    public LandmarkIndex landmarks() {
+        return landmarks;
+    }
+
+    /** Returns the shortest distance from source to target, or {@link ShortestPathEngine#UNREACHABLE}. */
+    public int query(int source, int target) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final int[] weights = graph.weights;
+
+        reset();
+        touch(source, target);
+        distance[source] = 0;
+        heap.insertOrDecrease(source, bound[source]);
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settledCount++;
+            if (u == target) {
+                return distance[target];
+            }
+
+            int du = distance[u];
+            int first = offsets[u];
+            int end = offsets[u + 1];
+            scannedArcs += end - first;
+            for (int arc = first; arc < end; arc++) {
+                int v = targets[arc];
+                int alt = du + weights[arc];
+                if (alt < distance[v]) {
+                    relaxations++;
+                    if (distance[v] == ShortestPathEngine.UNREACHABLE) {
+                        touch(v, target);
+                    }
+                    distance[v] = alt;
+                    predecessor[v] = u;
+                    heap.insertOrDecrease(v, alt + bound[v]);
+                }
+            }
+        }
+        return ShortestPathEngine.UNREACHABLE;
+    }
+
+    /** Number of nodes settled by the last query. */
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /** Work counters of the last query, with the given wall time ({@link QueryMetrics#NOT_TIMED} if unmeasured). */
+    public QueryMetrics metrics(long elapsedNanos) {
+        return QueryMetrics.of(settledCount, scannedArcs, relaxations, heap, elapsedNanos);
+    }
+
+    /** Returns the nodes of the shortest path to target found by the last query, or an empty array. */
+    public int[] path(int target) {
+        if (distance[target] == ShortestPathEngine.UNREACHABLE) {
+            return new int[0];
+        }
+        int length = 0;
+        for (int node = target; node >= 0; node = predecessor[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = target, i = length - 1; node >= 0; node = predecessor[node], i--) {
+            path[i] = node;
+        }
+        return path;
+    }
+
+    private void touch(int node, int target) {
+        touched[touchedCount++] = node;
+        bound[node] = landmarks.lowerBound(node, target);
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            distance[node] = ShortestPathEngine.UNREACHABLE;
+            predecessor[node] = -1;
+        }
+        touchedCount = 0;
+        settledCount = 0;
+        scannedArcs = 0;
+        relaxations = 0;
+        heap.clear();
+    }
+}
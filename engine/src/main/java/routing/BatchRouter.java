@@ -0,0 +1,215 @@
+package routing;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Command-line batch mode that answers a file of (source, destination) queries.
+ *
+ * Usage: {@code java routing.BatchRouter <graph> <queries> <output> [--threads N] [--distance-only]
+ * [--algorithm dijkstra|all-pairs|bidirectional|alt|contraction-hierarchies] [--snapshot FILE]}
+ *
+ * The graph file is read by {@link GraphLoaders} in the format implied by its
+ * extension: DIMACS for .gr, METIS for .graph and .metis, a {@link GraphSnapshot}
+ * for .csrg, and otherwise a weighted edge list with one "u v weight" line per
+ * undirected edge. Landmarks stored in a snapshot are used for ALT queries, and
+ * --snapshot writes the graph, with the landmarks if ALT computed them, to FILE.
+ * The query file has one "source destination" pair per line; nodes may be written
+ * as plain indices or as visualizer ids such as "N12". Lines starting with '#' are
+ * ignored in both files.
+ *
+ * Queries are read in blocks, each block is fanned out over a fork-join pool that
+ * shares one read-only {@link RoutingEngine} (every worker thread reuses its own
+ * search buffers), and the block's results are written in input order before the
+ * next block is read, so memory stays bounded for arbitrarily long query files.
+ * Algorithms that need preprocessing are prepared once before the first block.
+ */
+public final class BatchRouter {
+
+    private static final int BLOCK_SIZE = 1 << 14;
+
+    private final RoutingEngine engine;
+    private final ForkJoinPool pool;
+    private final boolean distanceOnly;
+    private final RoutingEngine.Algorithm algorithm;
+    private final LongAdder settledNodes = new LongAdder();
+
+    public BatchRouter(RoutingEngine engine, int threads, boolean distanceOnly, RoutingEngine.Algorithm algorithm) {
+        this.engine = engine;
+        this.pool = new ForkJoinPool(threads);
+        this.distanceOnly = distanceOnly;
+        this.algorithm = algorithm;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: java routing.BatchRouter <graph> <queries> <output> [--threads N] [--distance-only]"
+                    + " [--algorithm dijkstra|all-pairs|bidirectional|alt|contraction-hierarchies] [--snapshot FILE]");
+            System.exit(2);
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean distanceOnly = false;
+        RoutingEngine.Algorithm algorithm = RoutingEngine.Algorithm.DIJKSTRA;
+        Path snapshotFile = null;
+        for (int i = 3; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--distance-only":
+                    distanceOnly = true;
+                    break;
+                case "--algorithm":
+                    algorithm = RoutingEngine.Algorithm.valueOf(args[++i].toUpperCase().replace('-', '_'));
+                    break;
+                case "--snapshot":
+                    snapshotFile = Paths.get(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        long loadStart = System.nanoTime();
+        Path graphFile = Paths.get(args[0]);
+        RoutingEngine engine;
+        if (GraphLoaders.Format.of(graphFile) == GraphLoaders.Format.SNAPSHOT) {
+            GraphSnapshot snapshot = GraphSnapshot.read(graphFile);
+            engine = snapshot.landmarks() != null
+                    ? new RoutingEngine(snapshot.graph(), 0, snapshot.landmarks())
+                    : new RoutingEngine(snapshot.graph());
+        } else {
+            engine = new RoutingEngine(GraphLoaders.load(graphFile));
+        }
+        CsrGraph graph = engine.graph();
+        System.err.printf("[Batch] Loaded %d nodes, %d edges in %d ms%n",
+                graph.nodeCount(), graph.edgeCount(), (System.nanoTime() - loadStart) / 1_000_000);
+
+        BatchRouter router = new BatchRouter(engine, threads, distanceOnly, algorithm);
+        try {
+            long prepareStart = System.nanoTime();
+            router.prepare();
+            System.err.printf("[Batch] Prepared %s in %d ms%n", algorithm, (System.nanoTime() - prepareStart) / 1_000_000);
+
+            if (snapshotFile != null) {
+                GraphSnapshot snapshot = new GraphSnapshot(graph);
+                if (algorithm == RoutingEngine.Algorithm.ALT) {
+                    snapshot = snapshot.withLandmarks(engine.landmarks());
+                }
+                snapshot.write(snapshotFile);
+                System.err.printf("[Batch] Wrote snapshot %s%n", snapshotFile);
+            }
+
+            long start = System.nanoTime();
+            long answered = router.run(Paths.get(args[1]), Paths.get(args[2]));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.printf("[Batch] Answered %d queries on %d threads in %.3f s (%.0f queries/s)%n",
+                    answered, threads, seconds, answered / seconds);
+            if (!distanceOnly && answered > 0) {
+                System.err.printf("[Batch] Settled %.1f nodes per query on average%n",
+                        router.settledNodes() / (double) answered);
+            }
+        } finally {
+            router.shutdown();
+        }
+    }
+
+    /** Answers every query in queryFile and writes one result line per query to outputFile. */
+    public long run(Path queryFile, Path outputFile) throws IOException, InterruptedException {
+        int[] sources = new int[BLOCK_SIZE];
+        int[] destinations = new int[BLOCK_SIZE];
+        String[] results = new String[BLOCK_SIZE];
+        long answered = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(queryFile, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            int count;
+            while ((count = readBlock(reader, sources, destinations)) > 0) {
+                answerBlock(sources, destinations, results, count);
+                for (int i = 0; i < count; i++) {
+                    writer.write(results[i]);
+                    writer.newLine();
+                }
+                Arrays.fill(results, 0, count, null);
+                answered += count;
+            }
+        }
+        return answered;
+    }
+
+    /** Total nodes settled by the searches behind every route answered so far. */
+    public long settledNodes() {
+        return settledNodes.sum();
+    }
+
+    /** Runs the chosen algorithm's preprocessing on the batch pool. */
+    public void prepare() throws InterruptedException {
+        try {
+            pool.submit(() -> engine.prepare(algorithm)).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Preprocessing failed", e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private void answerBlock(int[] sources, int[] destinations, String[] results, int count)
+            throws InterruptedException {
+        int nodeCount = engine.graph().nodeCount();
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(i -> {
+                int source = sources[i];
+                int destination = destinations[i];
+                if (source < 0 || source >= nodeCount || destination < 0 || destination >= nodeCount) {
+                    results[i] = "N" + source + " N" + destination + " invalid";
+                } else if (distanceOnly) {
+                    int distance = engine.distance(source, destination, algorithm);
+                    results[i] = "N" + source + " N" + destination + " "
+                            + (distance == ShortestPathEngine.UNREACHABLE ? "unreachable" : Integer.toString(distance));
+                } else {
+                    Route route = engine.shortestPath(source, destination, algorithm);
+                    settledNodes.add(route.settledNodes());
+                    results[i] = "N" + source + " N" + destination + " "
+                            + (route.isFound() ? route.distance() + " " + route.formatPath() : "unreachable");
+                }
+            })).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch query failed", e.getCause());
+        }
+    }
+
+    private static int readBlock(BufferedReader reader, int[] sources, int[] destinations) throws IOException {
+        int count = 0;
+        String line;
+        while (count < sources.length && (line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split("\\s+");
+            if (parts.length < 2) {
+                throw new IOException("Malformed query line: " + line);
+            }
+            sources[count] = parseNode(parts[0]);
+            destinations[count] = parseNode(parts[1]);
+            count++;
+        }
+        return count;
+    }
+
+    private static int parseNode(String token) {
+        return Integer.parseInt(token.startsWith("N") ? token.substring(1) : token);
+    }
+}
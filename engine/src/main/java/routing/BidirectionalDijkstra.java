@@ -0,0 +1,174 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Point-to-point Dijkstra that searches forward from the source and backward from
+ * the destination at the same time.
+ *
+ * The graph is undirected, so the backward search runs over the same arcs. Each
+ * step expands the side with the smaller frontier, every relaxation that reaches a
+ * node already labelled by the other side updates the best meeting distance, and
+ * the search stops once the two frontier minima add up to at least that distance.
+ * On road-like graphs this settles roughly half the nodes of a one-sided search.
+ *
+ * An engine holds per-query scratch state and must not be shared between threads.
+ */
+public final class BidirectionalDijkstra {
+
+    /** Labels and frontier of one search direction. */
+    private static final class Side {
+        final int[] distance;
+        final int[] predecessor;
+        final int[] touched;
+        final IndexedDaryHeap heap;
+        int touchedCount;
+
+        Side(int n) {
+            distance = new int[n];
+            predecessor = new int[n];
+            touched = new int[n];
+            heap = new IndexedDaryHeap(n);
+            Arrays.fill(distance, ShortestPathEngine.UNREACHABLE);
+            Arrays.fill(predecessor, -1);
+        }
+
+        void start(int node) {
+            touched[touchedCount++] = node;
+            distance[node] = 0;
+            heap.insertOrDecrease(node, 0);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int node = touched[i];
+                distance[node] = ShortestPathEngine.UNREACHABLE;
+                predecessor[node] = -1;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+
+    private final CsrGraph graph;
+    private final Side forward;
+    private final Side backward;
+    private int best;
+    private int meetingNode = -1;
+    private int settledCount;
+    private int scannedArcs;
+    private int relaxations;
+
+    public BidirectionalDijkstra(CsrGraph graph) {
+        this.graph = graph;
+        this.forward = new Side(graph.nodeCount);
+        this.backward = new Side(graph.nodeCount);
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /** Returns the shortest distance from source to destination, or {@link ShortestPathEngine#UNREACHABLE}. */
+    public int query(int source, int destination) {
+        forward.reset();
+        backward.reset();
+        meetingNode = -1;
+        settledCount = 0;
+        scannedArcs = 0;
+        relaxations = 0;
+        best = ShortestPathEngine.UNREACHABLE;
+
+        forward.start(source);
+        backward.start(destination);
+        if (source == destination) {
+            meetingNode = source;
+            best = 0;
+        }
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            if ((long) forward.heap.minKey() + backward.heap.minKey() >= best) {
+                break;
+            }
+            if (forward.heap.size() <= backward.heap.size()) {
+                expand(forward, backward);
+            } else {
+                expand(backward, forward);
+            }
+        }
+        return best;
+    }
+
+    private void expand(Side side, Side other) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final int[] weights = graph.weights;
+        final int[] distance = side.distance;
+
+        int u = side.heap.pollMin();
+        settledCount++;
+        int du = distance[u];
+        int first = offsets[u];
+        int end = offsets[u + 1];
+        scannedArcs += end - first;
+        for (int arc = first; arc < end; arc++) {
+            int v = targets[arc];
+            int alt = du + weights[arc];
+            if (alt < distance[v]) {
+                relaxations++;
+                if (distance[v] == ShortestPathEngine.UNREACHABLE) {
+                    side.touched[side.touchedCount++] = v;
+                }
+                distance[v] = alt;
+                side.predecessor[v] = u;
+                side.heap.insertOrDecrease(v, alt);
+            }
+            int otherDistance = other.distance[v];
+            if (otherDistance != ShortestPathEngine.UNREACHABLE && distance[v] + otherDistance < best) {
+                best = distance[v] + otherDistance;
+                meetingNode = v;
+            }
+        }
+    }
+
+    /** Number of nodes settled by both searches during the last query. */
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /** Work counters of both searches of the last query, with the given wall time. */
+    public QueryMetrics metrics(long elapsedNanos) {
+        return QueryMetrics.of(settledCount, scannedArcs, relaxations, forward.heap, backward.heap, elapsedNanos);
+    }
+
+    /** Node where the two searches met on the last query, or -1 if they did not. */
+    public int meetingNode() {
+        return meetingNode;
+    }
+
+    /** Returns the nodes of the path found by the last query, source first, or an empty array. */
+    public int[] path() {
+        if (meetingNode < 0) {
+            return new int[0];
+        }
+        int forwardLength = 0;
+        for (int node = meetingNode; node >= 0; node = forward.predecessor[node]) {
+            forwardLength++;
+        }
+        int backwardLength = 0;
+        for (int node = backward.predecessor[meetingNode]; node >= 0; node = backward.predecessor[node]) {
+            backwardLength++;
+        }
+
+        int[] path = new int[forwardLength + backwardLength];
+        int i = forwardLength - 1;
+        for (int node = meetingNode; node >= 0; node = forward.predecessor[node]) {
+            path[i--] = node;
+        }
+        i = forwardLength;
+        for (int node = backward.predecessor[meetingNode]; node >= 0; node = backward.predecessor[node]) {
+            path[i++] = node;
+        }
+        return path;
+    }
+}
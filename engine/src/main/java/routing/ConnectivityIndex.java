@@ -0,0 +1,322 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Connected-component labels kept up to date as edges and nodes are added and removed.
+ *
+ * The index maintains a spanning forest of the graph and a component label per node.
+ * Inserting an edge between two components merges them by relabelling the smaller
+ * one, so each node is relabelled O(log n) times over any sequence of insertions.
+ * Deleting a non-forest edge costs O(degree). Deleting a forest edge splits a tree.
+ * Two searches over forest edges run from the two endpoints in lockstep until the
+ * smaller side is exhausted. Then only that side's edges are scanned for a
+ * replacement edge that reconnects it. If none exists, the smaller side gets a
+ * new label. Either way the work is proportional to the smaller side.
+ *
+ * Component count, connectivity and same-component checks are O(1). The index is
+ * not thread-safe; callers that edit the graph own it. Rebuilds and edge edits emit
+ * a {@link RoutingEvents.ConnectivityUpdate} flight recorder event.
+ *
+ * These bounds cover the index only. The graph itself is immutable, so an edit first
+ * builds the edited copy that {@link #removeEdge} expects with {@link CsrGraph#withEdge}
+ * or {@link CsrGraph#withoutEdge}. Those copy every arc and re-sort each row, which
+ * is O(n + m) per edit, and callers that keep per-arc tables pay another O(m) to
+ * rebuild them. End to end, an edge edit is therefore linear in the graph size. The
+ * index avoids what would come on top of that, a full O(n + m) search to recompute
+ * the components.
+ */
+public final class ConnectivityIndex {
+
+    private int nodeCount;
+    private int[] label;
+    private int[] labelSize;
+    private int nextLabel;
+    private int componentCount;
+    private int[][] forest;
+    private int[] forestDegree;
+
+    // Scratch for the lockstep searches, sized to the node count
+    private int[] mark;
+    private int stamp;
+    private int[] queueA;
+    private int[] queueB;
+
+    public ConnectivityIndex(CsrGraph graph) {
+        rebuild(graph);
+    }
+
+    /** Recomputes the forest and labels from scratch in O(n + m). */
+    public void rebuild(CsrGraph graph) {
+        RoutingEvents.ConnectivityUpdate event = new RoutingEvents.ConnectivityUpdate();
+        event.begin();
+        int n = graph.nodeCount;
+        nodeCount = n;
+        label = new int[n];
+        labelSize = new int[Math.max(n, 4)];
+        forest = new int[n][];
+        forestDegree = new int[n];
+        mark = new int[n];
+        stamp = 0;
+        queueA = new int[n];
+        queueB = new int[n];
+        nextLabel = 0;
+        componentCount = 0;
+        Arrays.fill(label, -1);
+
+        for (int start = 0; start < n; start++) {
+            if (label[start] >= 0) continue;
+            int component = newLabel();
+            componentCount++;
+            int head = 0;
+            int tail = 0;
+            queueA[tail++] = start;
+            label[start] = component;
+            while (head < tail) {
+                int u = queueA[head++];
+                for (int arc = graph.offsets[u], end = graph.offsets[u + 1]; arc < end; arc++) {
+                    int v = graph.targets[arc];
+                    if (label[v] < 0) {
+                        label[v] = component;
+                        addForestEdge(u, v);
+                        queueA[tail++] = v;
+                    }
+                }
+            }
+            labelSize[component] = tail;
+        }
+        commit(event, "rebuild", n, false);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int componentCount() {
+        return componentCount;
+    }
+
+    /** Whether the graph is a single component. An empty graph counts as disconnected. */
+    public boolean isConnected() {
+        return nodeCount > 0 && componentCount == 1;
+    }
+
+    public boolean connected(int u, int v) {
+        return label[u] == label[v];
+    }
+
+    /** Size of the component containing node. */
+    public int componentSize(int node) {
+        return labelSize[label[node]];
+    }
+
+    /** Whether edge {u, v} is in the spanning forest, so that removing it splits a tree. */
+    public boolean isForestEdge(int u, int v) {
+        int[] neighbours = forest[u];
+        for (int i = 0, degree = forestDegree[u]; i < degree; i++) {
+            if (neighbours[i] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Registers a new isolated node, whose index is the old node count. */
+    public void addNode() {
+        int node = nodeCount++;
+        if (node == label.length) {
+            int capacity = Math.max(4, node * 2);
+            label = Arrays.copyOf(label, capacity);
+            forest = Arrays.copyOf(forest, capacity);
+            forestDegree = Arrays.copyOf(forestDegree, capacity);
+            mark = Arrays.copyOf(mark, capacity);
+            queueA = Arrays.copyOf(queueA, capacity);
+            queueB = Arrays.copyOf(queueB, capacity);
+        }
+        int component = newLabel();
+        label[node] = component;
+        labelSize[component] = 1;
+        componentCount++;
+    }
+
+    /**
+     * Registers the removal of a node. Removing a node shifts the indices of all later
+     * nodes, so the index is rebuilt from the edited graph.
+     */
+    public void removeNode(CsrGraph graphAfter) {
+        rebuild(graphAfter);
+    }
+
+    /** Registers a new edge {u, v}. */
+    public void addEdge(int u, int v) {
+        RoutingEvents.ConnectivityUpdate event = new RoutingEvents.ConnectivityUpdate();
+        event.begin();
+        int lu = label[u];
+        int lv = label[v];
+        if (lu == lv) {
+            commit(event, "addEdge", 0, false);
+            return; // Already connected: the edge stays outside the forest
+        }
+
+        // Relabel the smaller component into the larger one, then link the trees
+        int relabelled = Math.min(labelSize[lu], labelSize[lv]);
+        if (labelSize[lu] < labelSize[lv]) {
+            relabelTree(u, lv);
+            labelSize[lv] += labelSize[lu];
+        } else {
+            relabelTree(v, lu);
+            labelSize[lu] += labelSize[lv];
+        }
+        addForestEdge(u, v);
+        componentCount--;
+        commit(event, "addEdge", relabelled, true);
+    }
+
+    /** Registers the removal of edge {u, v}; graphAfter must no longer contain it. */
+    public void removeEdge(int u, int v, CsrGraph graphAfter) {
+        RoutingEvents.ConnectivityUpdate event = new RoutingEvents.ConnectivityUpdate();
+        event.begin();
+        if (!removeForestEdge(u, v)) {
+            commit(event, "removeEdge", 0, false);
+            return; // A non-forest edge never disconnects anything
+        }
+
+        // Explore both halves of the split tree in lockstep; the one that runs out first is smaller
+        int side = smallerSide(u, v);
+        int[] queue = side == u ? queueA : queueB;
+        int size = sideSize;
+        int sideStamp = side == u ? stamp - 1 : stamp;
+
+        for (int i = 0; i < size; i++) {
+            int x = queue[i];
+            for (int arc = graphAfter.offsets[x], end = graphAfter.offsets[x + 1]; arc < end; arc++) {
+                int y = graphAfter.targets[arc];
+                if (mark[y] != sideStamp) {
+                    addForestEdge(x, y); // Replacement edge: the tree is whole again
+                    commit(event, "removeEdge", size, true);
+                    return;
+                }
+            }
+        }
+
+        int component = newLabel();
+        int old = label[side];
+        for (int i = 0; i < size; i++) {
+            label[queue[i]] = component;
+        }
+        labelSize[component] = size;
+        labelSize[old] -= size;
+        componentCount++;
+        commit(event, "removeEdge", size, true);
+    }
+
+    private void commit(RoutingEvents.ConnectivityUpdate event, String operation, int touchedNodes, boolean forestEdge) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.nodeCount = nodeCount;
+            event.componentCount = componentCount;
+            event.touchedNodes = touchedNodes;
+            event.forestEdge = forestEdge;
+            event.commit();
+        }
+    }
+
+    private int sideSize;
+
+    /**
+     * Runs searches over forest edges from a and b, one node at a time each, and returns
+     * whichever start node's side was exhausted first. Its nodes are left in queueA (for
+     * a, marked with stamp - 1) or queueB (for b, marked with stamp), and its size in sideSize.
+     */
+    private int smallerSide(int a, int b) {
+        int stampA = ++stamp;
+        int stampB = ++stamp;
+        int headA = 0;
+        int tailA = 0;
+        int headB = 0;
+        int tailB = 0;
+        queueA[tailA++] = a;
+        mark[a] = stampA;
+        queueB[tailB++] = b;
+        mark[b] = stampB;
+
+        while (true) {
+            if (headA == tailA) {
+                sideSize = tailA;
+                return a;
+            }
+            if (headB == tailB) {
+                sideSize = tailB;
+                return b;
+            }
+            tailA = expand(queueA[headA++], queueA, tailA, stampA);
+            tailB = expand(queueB[headB++], queueB, tailB, stampB);
+        }
+    }
+
+    private int expand(int u, int[] queue, int tail, int sideStamp) {
+        int[] neighbours = forest[u];
+        for (int i = 0, degree = forestDegree[u]; i < degree; i++) {
+            int v = neighbours[i];
+            if (mark[v] != sideStamp) {
+                mark[v] = sideStamp;
+                queue[tail++] = v;
+            }
+        }
+        return tail;
+    }
+
+    private void relabelTree(int start, int component) {
+        int sideStamp = ++stamp;
+        int head = 0;
+        int tail = 0;
+        queueA[tail++] = start;
+        mark[start] = sideStamp;
+        while (head < tail) {
+            int u = queueA[head++];
+            label[u] = component;
+            tail = expand(u, queueA, tail, sideStamp);
+        }
+    }
+
+    private int newLabel() {
+        if (nextLabel == labelSize.length) {
+            labelSize = Arrays.copyOf(labelSize, labelSize.length * 2);
+        }
+        return nextLabel++;
+    }
+
+    private void addForestEdge(int u, int v) {
+        appendForestNeighbour(u, v);
+        appendForestNeighbour(v, u);
+    }
+
+    private void appendForestNeighbour(int u, int v) {
+        int[] neighbours = forest[u];
+        int degree = forestDegree[u];
+        if (neighbours == null) {
+            neighbours = forest[u] = new int[2];
+        } else if (degree == neighbours.length) {
+            neighbours = forest[u] = Arrays.copyOf(neighbours, degree * 2);
+        }
+        neighbours[degree] = v;
+        forestDegree[u] = degree + 1;
+    }
+
+    private boolean removeForestEdge(int u, int v) {
+        return removeForestNeighbour(u, v) && removeForestNeighbour(v, u);
+    }
+
+    private boolean removeForestNeighbour(int u, int v) {
+        int[] neighbours = forest[u];
+        int last = forestDegree[u] - 1;
+        for (int i = 0; i <= last; i++) {
+            if (neighbours[i] == v) {
+                neighbours[i] = neighbours[last];
+                forestDegree[u] = last;
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,415 @@
+package routing;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Contraction hierarchy over a {@link CsrGraph}: a node ranking plus the shortcut
+ * edges that preserve shortest distances when nodes are removed in rank order.
+ *
+ * Preprocessing contracts nodes in rounds. Every round picks an independent set of
+ * nodes whose priority (edge difference plus the number of already contracted
+ * neighbours) is lower than that of all their remaining neighbours, runs the witness
+ * searches for all of them in parallel while treating the whole set as removed, and
+ * then applies the resulting shortcuts.
+ * A shortcut u-x through v is added only when a bounded Dijkstra from u that avoids
+ * v finds no path to x at most as long as u-v-x; a search that gives up early just
+ * adds a redundant shortcut, which never affects correctness.
+ *
+ * The result is stored as an upward graph: every edge, original or shortcut, is
+ * kept once at its lower-ranked endpoint together with the middle node it bypasses
+ * (-1 for original edges). {@link ContractionHierarchySearch} runs its forward and
+ * backward searches over these upward arcs only.
+ */
+public final class ContractionHierarchy {
+
+    // Witness searches settle at most this many nodes. Estimating priorities can use a
+    // much smaller budget than the real contraction, which only costs extra shortcuts.
+    private static final int PRIORITY_SETTLE_LIMIT = 40;
+    private static final int CONTRACTION_SETTLE_LIMIT = 500;
+
+    private final int nodeCount;
+    private final int[] rank;
+    final int[] upOffsets;
+    final int[] upTargets;
+    final int[] upWeights;
+    final int[] upMiddles;
+
+    private ContractionHierarchy(int nodeCount, int[] rank, int[] upOffsets, int[] upTargets,
+                                 int[] upWeights, int[] upMiddles) {
+        this.nodeCount = nodeCount;
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /** Position of node in the contraction order; higher ranks were contracted later. */
+    public int rank(int node) {
+        return rank[node];
+    }
+
+    /** Number of upward arcs, i.e. original edges plus shortcuts. */
+    public int arcCount() {
+        return upTargets.length;
+    }
+
+    /** Number of shortcut arcs added during preprocessing. */
+    public int shortcutCount() {
+        int count = 0;
+        for (int middle : upMiddles) {
+            if (middle >= 0) count++;
+        }
+        return count;
+    }
+
+    /** Upward arc from the lower-ranked of u and v to the other one, or -1. */
+    int findUpArc(int u, int v) {
+        int low = rank[u] < rank[v] ? u : v;
+        int high = low == u ? v : u;
+        int index = Arrays.binarySearch(upTargets, upOffsets[low], upOffsets[low + 1], high);
+        return index >= 0 ? index : -1;
+    }
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return new Builder(graph).build();
+    }
+
+    /**
+     * Mutable state of the contraction. The adjacency lists only hold edges between
+     * nodes that are not contracted yet, so late, high-degree nodes do not rescan
+     * edges to nodes that are already gone; a node's remaining edges are moved to its
+     * upward arcs at the moment it is contracted.
+     */
+    private static final class Builder {
+
+        private final int n;
+        private final int[][] adjTargets;
+        private final int[][] adjWeights;
+        private final int[][] adjMiddles;
+        private final int[] adjSize;
+        private final int[][] upArcs;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final int[] priority;
+        private final int[] rank;
+        private final ThreadLocal<WitnessSearch> witnessSearches;
+
+        Builder(CsrGraph graph) {
+            n = graph.nodeCount;
+            adjTargets = new int[n][];
+            adjWeights = new int[n][];
+            adjMiddles = new int[n][];
+            adjSize = new int[n];
+            for (int u = 0; u < n; u++) {
+                int start = graph.offsets[u];
+                int degree = graph.offsets[u + 1] - start;
+                adjTargets[u] = Arrays.copyOfRange(graph.targets, start, start + degree);
+                adjWeights[u] = Arrays.copyOfRange(graph.weights, start, start + degree);
+                adjMiddles[u] = new int[degree];
+                Arrays.fill(adjMiddles[u], -1);
+                adjSize[u] = degree;
+            }
+            upArcs = new int[n][];
+            contracted = new boolean[n];
+            contractedNeighbors = new int[n];
+            priority = new int[n];
+            rank = new int[n];
+            witnessSearches = ThreadLocal.withInitial(() -> new WitnessSearch(n));
+        }
+
+        ContractionHierarchy build() {
+            IntStream.range(0, n).parallel().forEach(v -> priority[v] = computePriority(v));
+
+            int[] remaining = IntStream.range(0, n).toArray();
+            int remainingCount = n;
+            int nextRank = 0;
+            boolean[] dirty = new boolean[n];
+
+            while (remainingCount > 0) {
+                final int[] candidates = remaining;
+                final int candidateCount = remainingCount;
+                int[] batch = IntStream.range(0, candidateCount).parallel()
+                        .map(i -> candidates[i])
+                        .filter(this::isLocalMinimum)
+                        .toArray();
+
+                // Mark the whole batch as contracted before searching for witnesses. Each
+                // search then only accepts witnesses that survive the round, so nodes of
+                // the batch cannot rely on each other and the searches can run in parallel.
+                for (int v : batch) {
+                    contracted[v] = true;
+                }
+                int[][] shortcuts = new int[batch.length][];
+                IntStream.range(0, batch.length).parallel()
+                        .forEach(i -> shortcuts[i] = findShortcuts(batch[i], CONTRACTION_SETTLE_LIMIT));
+
+                for (int i = 0; i < batch.length; i++) {
+                    int v = batch[i];
+                    rank[v] = nextRank++;
+                    retire(v);
+                    int[] found = shortcuts[i];
+                    for (int s = 0; s < found.length; s += 3) {
+                        addOrImprove(found[s], found[s + 1], found[s + 2], v);
+                        addOrImprove(found[s + 1], found[s], found[s + 2], v);
+                    }
+                    int[] up = upArcs[v];
+                    for (int a = 0; a < up.length; a += 3) {
+                        int u = up[a];
+                        contractedNeighbors[u]++;
+                        dirty[u] = true;
+                    }
+                }
+
+                // Only nodes next to a contracted node can have a different priority now
+                int write = 0;
+                for (int i = 0; i < candidateCount; i++) {
+                    if (!contracted[candidates[i]]) {
+                        remaining[write++] = candidates[i];
+                    }
+                }
+                remainingCount = write;
+                final int[] left = remaining;
+                IntStream.range(0, remainingCount).parallel().forEach(i -> {
+                    int u = left[i];
+                    if (dirty[u]) {
+                        priority[u] = computePriority(u);
+                        dirty[u] = false;
+                    }
+                });
+            }
+
+            return toUpwardGraph();
+        }
+
+        /**
+         * Moves the remaining edges of v to its upward arcs as (target, weight, middle)
+         * triples and unlinks v from its neighbours' lists.
+         */
+        private void retire(int v) {
+            int size = adjSize[v];
+            int[] up = new int[size * 3];
+            for (int a = 0; a < size; a++) {
+                int u = adjTargets[v][a];
+                up[a * 3] = u;
+                up[a * 3 + 1] = adjWeights[v][a];
+                up[a * 3 + 2] = adjMiddles[v][a];
+
+                int[] targets = adjTargets[u];
+                int last = adjSize[u] - 1;
+                for (int b = 0; b <= last; b++) {
+                    if (targets[b] == v) {
+                        targets[b] = targets[last];
+                        adjWeights[u][b] = adjWeights[u][last];
+                        adjMiddles[u][b] = adjMiddles[u][last];
+                        adjSize[u] = last;
+                        break;
+                    }
+                }
+            }
+            upArcs[v] = up;
+            adjTargets[v] = null;
+            adjWeights[v] = null;
+            adjMiddles[v] = null;
+            adjSize[v] = 0;
+        }
+
+        private boolean isLocalMinimum(int v) {
+            int p = priority[v];
+            for (int a = 0; a < adjSize[v]; a++) {
+                int u = adjTargets[v][a];
+                if (contracted[u]) continue;
+                if (priority[u] < p || (priority[u] == p && u < v)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int computePriority(int v) {
+            int remainingDegree = 0;
+            for (int a = 0; a < adjSize[v]; a++) {
+                if (!contracted[adjTargets[v][a]]) remainingDegree++;
+            }
+            int shortcuts = findShortcuts(v, PRIORITY_SETTLE_LIMIT).length / 3;
+            return shortcuts - remainingDegree + contractedNeighbors[v];
+        }
+
+        /** Returns (u, x, weight) triples for every shortcut contracting v would need. */
+        private int[] findShortcuts(int v, int settleLimit) {
+            int[] targets = adjTargets[v];
+            int[] weights = adjWeights[v];
+            int size = adjSize[v];
+
+            int maxWeight = 0;
+            for (int a = 0; a < size; a++) {
+                if (!contracted[targets[a]]) {
+                    maxWeight = Math.max(maxWeight, weights[a]);
+                }
+            }
+
+            WitnessSearch witness = witnessSearches.get();
+            int[] result = new int[0];
+            int count = 0;
+            for (int a = 0; a < size; a++) {
+                int u = targets[a];
+                if (contracted[u]) continue;
+                int viaU = weights[a];
+                int pending = 0;
+                witness.nextStamp();
+                for (int b = a + 1; b < size; b++) {
+                    if (!contracted[targets[b]]) {
+                        witness.markTarget(targets[b]);
+                        pending++;
+                    }
+                }
+                if (pending == 0) continue;
+                witness.run(this, u, v, viaU + maxWeight, settleLimit, pending);
+                for (int b = a + 1; b < size; b++) {
+                    int x = targets[b];
+                    if (contracted[x]) continue;
+                    int via = viaU + weights[b];
+                    if (witness.distance(x) > via) {
+                        if (count + 3 > result.length) {
+                            result = Arrays.copyOf(result, Math.max(12, result.length * 2));
+                        }
+                        result[count++] = u;
+                        result[count++] = x;
+                        result[count++] = via;
+                    }
+                }
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        }
+
+        private void addOrImprove(int u, int x, int weight, int middle) {
+            int[] targets = adjTargets[u];
+            for (int a = 0; a < adjSize[u]; a++) {
+                if (targets[a] == x) {
+                    if (weight < adjWeights[u][a]) {
+                        adjWeights[u][a] = weight;
+                        adjMiddles[u][a] = middle;
+                    }
+                    return;
+                }
+            }
+            int size = adjSize[u];
+            if (size == targets.length) {
+                int capacity = Math.max(4, size * 2);
+                adjTargets[u] = Arrays.copyOf(targets, capacity);
+                adjWeights[u] = Arrays.copyOf(adjWeights[u], capacity);
+                adjMiddles[u] = Arrays.copyOf(adjMiddles[u], capacity);
+            }
+            adjTargets[u][size] = x;
+            adjWeights[u][size] = weight;
+            adjMiddles[u][size] = middle;
+            adjSize[u] = size + 1;
+        }
+
+        private ContractionHierarchy toUpwardGraph() {
+            int[] offsets = new int[n + 1];
+            for (int u = 0; u < n; u++) {
+                offsets[u + 1] = offsets[u] + upArcs[u].length / 3;
+            }
+
+            int arcs = offsets[n];
+            int[] targets = new int[arcs];
+            int[] weights = new int[arcs];
+            int[] middles = new int[arcs];
+            long[] packed = new long[0];
+            for (int u = 0; u < n; u++) {
+                int[] up = upArcs[u];
+                int start = offsets[u];
+                int count = up.length / 3;
+                if (packed.length < count) {
+                    packed = new long[count];
+                }
+                for (int i = 0; i < count; i++) {
+                    packed[i] = ((long) up[i * 3] << 32) | i;
+                }
+                // Sort each node's upward arcs by target so unpacking can binary-search them
+                Arrays.sort(packed, 0, count);
+                for (int i = 0; i < count; i++) {
+                    int a = (int) packed[i] * 3;
+                    targets[start + i] = up[a];
+                    weights[start + i] = up[a + 1];
+                    middles[start + i] = up[a + 2];
+                }
+                upArcs[u] = null;
+            }
+            return new ContractionHierarchy(n, rank, offsets, targets, weights, middles);
+        }
+    }
+
+    /** Bounded Dijkstra over the not-yet-contracted part of the graph, with per-thread scratch. */
+    private static final class WitnessSearch {
+
+        private final int[] distance;
+        private final int[] touched;
+        private final int[] targetStamp;
+        private final IndexedDaryHeap heap;
+        private int touchedCount;
+        private int stamp;
+
+        WitnessSearch(int n) {
+            distance = new int[n];
+            touched = new int[n];
+            targetStamp = new int[n];
+            heap = new IndexedDaryHeap(n);
+            Arrays.fill(distance, ShortestPathEngine.UNREACHABLE);
+        }
+
+        void nextStamp() {
+            stamp++;
+        }
+
+        /** Marks a node whose distance the next run must settle before it may stop early. */
+        void markTarget(int node) {
+            targetStamp[node] = stamp;
+        }
+
+        void run(Builder graph, int source, int excluded, int maxDistance, int settleLimit, int pendingTargets) {
+            for (int i = 0; i < touchedCount; i++) {
+                distance[touched[i]] = ShortestPathEngine.UNREACHABLE;
+            }
+            touchedCount = 0;
+            heap.clear();
+
+            touched[touchedCount++] = source;
+            distance[source] = 0;
+            heap.insertOrDecrease(source, 0);
+            int settled = 0;
+
+            while (!heap.isEmpty() && settled < settleLimit) {
+                if (heap.minKey() > maxDistance) break;
+                int u = heap.pollMin();
+                settled++;
+                if (targetStamp[u] == stamp && --pendingTargets == 0) break;
+                int du = distance[u];
+                int[] targets = graph.adjTargets[u];
+                int[] weights = graph.adjWeights[u];
+                for (int a = 0, size = graph.adjSize[u]; a < size; a++) {
+                    int v = targets[a];
+                    if (v == excluded || graph.contracted[v]) continue;
+                    int alt = du + weights[a];
+                    if (alt < distance[v]) {
+                        if (distance[v] == ShortestPathEngine.UNREACHABLE) {
+                            touched[touchedCount++] = v;
+                        }
+                        distance[v] = alt;
+                        heap.insertOrDecrease(v, alt);
+                    }
+                }
+            }
+        }
+
+        int distance(int node) {
+            return distance[node];
+        }
+    }
+}
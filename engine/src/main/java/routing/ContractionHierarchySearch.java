@@ -0,0 +1,212 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Point-to-point query over a {@link ContractionHierarchy}.
+ *
+ * Both searches only follow upward arcs (towards higher-ranked nodes), so each
+ * settles a small part of the graph. A side stops once its frontier minimum reaches
+ * the best distance found through a node labelled by both sides. The path found in
+ * the upward graph is then unpacked by recursively replacing every shortcut with the
+ * two arcs it bypasses, giving the path in the original graph.
+ *
+ * An engine holds per-query scratch state and must not be shared between threads.
+ */
+public final class ContractionHierarchySearch {
+
+    /** Labels and frontier of one search direction. */
+    private static final class Side {
+        final int[] distance;
+        final int[] predecessor;
+        final int[] touched;
+        final IndexedDaryHeap heap;
+        int touchedCount;
+
+        Side(int n) {
+            distance = new int[n];
+            predecessor = new int[n];
+            touched = new int[n];
+            heap = new IndexedDaryHeap(n);
+            Arrays.fill(distance, ShortestPathEngine.UNREACHABLE);
+            Arrays.fill(predecessor, -1);
+        }
+
+        void start(int node) {
+            touched[touchedCount++] = node;
+            distance[node] = 0;
+            heap.insertOrDecrease(node, 0);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int node = touched[i];
+                distance[node] = ShortestPathEngine.UNREACHABLE;
+                predecessor[node] = -1;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+
+    private final ContractionHierarchy hierarchy;
+    private final Side forward;
+    private final Side backward;
+    private int[] unpackStack = new int[64];
+    private int[] pathBuffer = new int[64];
+    private int pathLength;
+    private int best;
+    private int meetingNode = -1;
+    private int settledCount;
+    private int scannedArcs;
+    private int relaxations;
+
+    public ContractionHierarchySearch(ContractionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+        this.forward = new Side(hierarchy.nodeCount());
+        this.backward = new Side(hierarchy.nodeCount());
+    }
+
+    /** Returns the shortest distance from source to destination, or {@link ShortestPathEngine#UNREACHABLE}. */
+    public int query(int source, int destination) {
+        forward.reset();
+        backward.reset();
+        meetingNode = -1;
+        settledCount = 0;
+        scannedArcs = 0;
+        relaxations = 0;
+        best = ShortestPathEngine.UNREACHABLE;
+
+        forward.start(source);
+        backward.start(destination);
+
+        while (true) {
+            boolean forwardOpen = !forward.heap.isEmpty() && forward.heap.minKey() < best;
+            boolean backwardOpen = !backward.heap.isEmpty() && backward.heap.minKey() < best;
+            if (!forwardOpen && !backwardOpen) {
+                return best;
+            }
+            if (forwardOpen && (!backwardOpen || forward.heap.minKey() <= backward.heap.minKey())) {
+                settle(forward, backward);
+            } else {
+                settle(backward, forward);
+            }
+        }
+    }
+
+    private void settle(Side side, Side other) {
+        final int[] offsets = hierarchy.upOffsets;
+        final int[] targets = hierarchy.upTargets;
+        final int[] weights = hierarchy.upWeights;
+        final int[] distance = side.distance;
+
+        int u = side.heap.pollMin();
+        settledCount++;
+        int du = distance[u];
+        if (other.distance[u] != ShortestPathEngine.UNREACHABLE && du + other.distance[u] < best) {
+            best = du + other.distance[u];
+            meetingNode = u;
+        }
+
+        int first = offsets[u];
+        int end = offsets[u + 1];
+        scannedArcs += end - first;
+        for (int arc = first; arc < end; arc++) {
+            int v = targets[arc];
+            int alt = du + weights[arc];
+            if (alt < distance[v]) {
+                relaxations++;
+                if (distance[v] == ShortestPathEngine.UNREACHABLE) {
+                    side.touched[side.touchedCount++] = v;
+                }
+                distance[v] = alt;
+                side.predecessor[v] = u;
+                side.heap.insertOrDecrease(v, alt);
+            }
+        }
+    }
+
+    /** Number of nodes settled by both searches during the last query. */
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /** Work counters of both searches of the last query, with the given wall time. */
+    public QueryMetrics metrics(long elapsedNanos) {
+        return QueryMetrics.of(settledCount, scannedArcs, relaxations, forward.heap, backward.heap, elapsedNanos);
+    }
+
+    /** Returns the unpacked path in the original graph found by the last query, or an empty array. */
+    public int[] path() {
+        if (meetingNode < 0) {
+            return new int[0];
+        }
+
+        // Upward path source -> meeting node, then downward meeting node -> destination
+        int forwardLength = 0;
+        for (int node = meetingNode; node >= 0; node = forward.predecessor[node]) {
+            forwardLength++;
+        }
+        int backwardLength = 0;
+        for (int node = backward.predecessor[meetingNode]; node >= 0; node = backward.predecessor[node]) {
+            backwardLength++;
+        }
+        int[] packed = new int[forwardLength + backwardLength];
+        int i = forwardLength - 1;
+        for (int node = meetingNode; node >= 0; node = forward.predecessor[node]) {
+            packed[i--] = node;
+        }
+        i = forwardLength;
+        for (int node = backward.predecessor[meetingNode]; node >= 0; node = backward.predecessor[node]) {
+            packed[i++] = node;
+        }
+
+        pathLength = 0;
+        append(packed[0]);
+        for (int k = 1; k < packed.length; k++) {
+            unpack(packed[k - 1], packed[k]);
+        }
+        return Arrays.copyOf(pathBuffer, pathLength);
+    }
+
+    /**
+     * Appends the original-graph nodes after from up to and including to, expanding
+     * shortcuts with an explicit stack so deep hierarchies cannot overflow the thread stack.
+     */
+    private void unpack(int from, int to) {
+        int top = 0;
+        unpackStack = push(unpackStack, top, from, to);
+        top += 2;
+        while (top > 0) {
+            top -= 2;
+            int a = unpackStack[top];
+            int b = unpackStack[top + 1];
+            int middle = hierarchy.upMiddles[hierarchy.findUpArc(a, b)];
+            if (middle < 0) {
+                append(b);
+            } else {
+                // Push the second half first so the first half is expanded first
+                unpackStack = push(unpackStack, top, middle, b);
+                top += 2;
+                unpackStack = push(unpackStack, top, a, middle);
+                top += 2;
+            }
+        }
+    }
+
+    private void append(int node) {
+        if (pathLength == pathBuffer.length) {
+            pathBuffer = Arrays.copyOf(pathBuffer, pathBuffer.length * 2);
+        }
+        pathBuffer[pathLength++] = node;
+    }
+
+    private static int[] push(int[] stack, int top, int a, int b) {
+        if (top + 2 > stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = a;
+        stack[top + 1] = b;
+        return stack;
+    }
+}
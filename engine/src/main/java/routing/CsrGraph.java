@@ -0,0 +1,302 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Immutable weighted undirected graph stored in compressed sparse row form.
+ *
+ * Every undirected edge {u, v} is stored as two arcs (u -> v and v -> u). The arcs
+ * leaving node u occupy the range [offsets[u], offsets[u + 1]) of the targets and
+ * weights arrays and are sorted by target, so neighbour scans visit nodes in the
+ * same ascending order the old adjacency-matrix row scans did.
+ */
+public final class CsrGraph {
+
+    final int nodeCount;
+    final int[] offsets;
+    final int[] targets;
+    final int[] weights;
+
+    private CsrGraph(int nodeCount, int[] offsets, int[] targets, int[] weights) {
+        this.nodeCount = nodeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /** Returns a graph with the given number of nodes and no edges. */
+    public static CsrGraph empty(int nodeCount) {
+        if (nodeCount < 0) {
+            throw new IllegalArgumentException("Node count must not be negative: " + nodeCount);
+        }
+        return new CsrGraph(nodeCount, new int[nodeCount + 1], new int[0], new int[0]);
+    }
+
+    /**
+     * Wraps arrays read from a snapshot without copying them. Checks that the offsets
+     * are non-decreasing and every target is a node, so a damaged file fails here
+     * rather than in a search.
+     */
+    static CsrGraph fromArrays(int nodeCount, int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != nodeCount + 1 || offsets[0] != 0 || offsets[nodeCount] != targets.length
+                || weights.length != targets.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays for " + nodeCount + " nodes");
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            if (offsets[u] > offsets[u + 1]) {
+                throw new IllegalArgumentException("Offsets decrease at node " + u);
+            }
+        }
+        for (int arc = 0; arc < targets.length; arc++) {
+            if (targets[arc] < 0 || targets[arc] >= nodeCount) {
+                throw new IllegalArgumentException("Arc " + arc + " targets missing node " + targets[arc]);
+            }
+        }
+        return new CsrGraph(nodeCount, offsets, targets, weights);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /** Number of undirected edges. */
+    public int edgeCount() {
+        return targets.length / 2;
+    }
+
+    /** Number of directed arcs, i.e. twice the number of edges. */
+    public int arcCount() {
+        return targets.length;
+    }
+
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int firstArc(int node) {
+        return offsets[node];
+    }
+
+    public int endArc(int node) {
+        return offsets[node + 1];
+    }
+
+    public int arcTarget(int arc) {
+        return targets[arc];
+    }
+
+    /** Returns the node arc leaves from, found by binary search over the row offsets. */
+    public int arcSource(int arc) {
+        if (arc < 0 || arc >= targets.length) {
+            throw new IndexOutOfBoundsException("Arc " + arc + " outside graph of " + targets.length + " arcs");
+        }
+        int low = 0;
+        int high = nodeCount - 1;
+        // Find the last node whose row starts at or before arc; empty rows share offsets
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= arc) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public int arcWeight(int arc) {
+        return weights[arc];
+    }
+
+    /** Returns the arc u -> v, or -1 if the nodes are not adjacent. */
+    public int findArc(int u, int v) {
+        int index = Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v);
+        return index >= 0 ? index : -1;
+    }
+
+    public boolean hasEdge(int u, int v) {
+        return findArc(u, v) >= 0;
+    }
+
+    /** Returns the weight of edge {u, v}, or 0 if there is no such edge. */
+    public int weight(int u, int v) {
+        int arc = findArc(u, v);
+        return arc >= 0 ? weights[arc] : 0;
+    }
+
+    /**
+     * Returns a copy of this graph with edge {u, v} added, or re-weighted if it already
+     * exists. Every arc is copied and each row sorted again, so this is O(n + m).
+     */
+    public CsrGraph withEdge(int u, int v, int weight) {
+        Builder builder = toBuilder(nodeCount);
+        builder.removeEdge(u, v);
+        builder.addEdge(u, v, weight);
+        return builder.build();
+    }
+
+    /** Returns a copy of this graph without edge {u, v}; like {@link #withEdge}, O(n + m). */
+    public CsrGraph withoutEdge(int u, int v) {
+        Builder builder = toBuilder(nodeCount);
+        builder.removeEdge(u, v);
+        return builder.build();
+    }
+
+    /** Returns a copy of this graph with one extra isolated node, whose index is the old node count. */
+    public CsrGraph withNode() {
+        int[] newOffsets = Arrays.copyOf(offsets, nodeCount + 2);
+        newOffsets[nodeCount + 1] = offsets[nodeCount];
+        return new CsrGraph(nodeCount + 1, newOffsets, targets, weights);
+    }
+
+    /**
+     * Returns a copy of this graph without the given node and its edges. Nodes with a
+     * higher index are shifted down by one.
+     */
+    public CsrGraph withoutNode(int node) {
+        checkNode(node);
+        Builder builder = new Builder(nodeCount - 1);
+        for (int u = 0; u < nodeCount; u++) {
+            if (u == node) continue;
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                if (v > u && v != node) {
+                    builder.addEdge(u > node ? u - 1 : u, v > node ? v - 1 : v, weights[arc]);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private Builder toBuilder(int newNodeCount) {
+        Builder builder = new Builder(newNodeCount);
+        for (int u = 0; u < nodeCount; u++) {
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                if (v > u) {
+                    builder.addEdge(u, v, weights[arc]);
+                }
+            }
+        }
+        return builder;
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= nodeCount) {
+            throw new IndexOutOfBoundsException("Node " + node + " out of range [0, " + nodeCount + ")");
+        }
+    }
+
+    /**
+     * Collects undirected edges into primitive arrays and packs them into a {@link CsrGraph}.
+     * Self-loops are dropped and parallel edges are merged, keeping the smallest weight.
+     */
+    public static final class Builder {
+
+        private final int nodeCount;
+        private int[] from;
+        private int[] to;
+        private int[] edgeWeights;
+        private int size;
+
+        public Builder(int nodeCount) {
+            this(nodeCount, 16);
+        }
+
+        public Builder(int nodeCount, int expectedEdges) {
+            if (nodeCount < 0) {
+                throw new IllegalArgumentException("Node count must not be negative: " + nodeCount);
+            }
+            this.nodeCount = nodeCount;
+            int capacity = Math.max(expectedEdges, 16);
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.edgeWeights = new int[capacity];
+        }
+
+        public int nodeCount() {
+            return nodeCount;
+        }
+
+        public Builder addEdge(int u, int v, int weight) {
+            if (u < 0 || u >= nodeCount || v < 0 || v >= nodeCount) {
+                throw new IndexOutOfBoundsException("Edge " + u + "-" + v + " out of range [0, " + nodeCount + ")");
+            }
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Edge weights must be positive: " + weight);
+            }
+            if (u == v) {
+                return this;
+            }
+            if (size == from.length) {
+                int capacity = size + (size >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            edgeWeights[size] = weight;
+            size++;
+            return this;
+        }
+
+        void removeEdge(int u, int v) {
+            int write = 0;
+            for (int i = 0; i < size; i++) {
+                boolean match = (from[i] == u && to[i] == v) || (from[i] == v && to[i] == u);
+                if (!match) {
+                    from[write] = from[i];
+                    to[write] = to[i];
+                    edgeWeights[write] = edgeWeights[i];
+                    write++;
+                }
+            }
+            size = write;
+        }
+
+        public CsrGraph build() {
+            int[] offsets = new int[nodeCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[from[i] + 1]++;
+                offsets[to[i] + 1]++;
+            }
+            for (int u = 0; u < nodeCount; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+
+            // Pack (target, weight) into one long per arc so sorting a row orders it by
+            // target first and puts the cheapest of any parallel arcs first.
+            long[] packed = new long[offsets[nodeCount]];
+            int[] cursor = Arrays.copyOf(offsets, nodeCount);
+            for (int i = 0; i < size; i++) {
+                packed[cursor[from[i]]++] = ((long) to[i] << 32) | edgeWeights[i];
+                packed[cursor[to[i]]++] = ((long) from[i] << 32) | edgeWeights[i];
+            }
+
+            int[] targets = new int[packed.length];
+            int[] weights = new int[packed.length];
+            int write = 0;
+            for (int u = 0; u < nodeCount; u++) {
+                int start = offsets[u];
+                int end = offsets[u + 1];
+                Arrays.sort(packed, start, end);
+                offsets[u] = write;
+                for (int arc = start; arc < end; arc++) {
+                    int target = (int) (packed[arc] >>> 32);
+                    if (write > offsets[u] && targets[write - 1] == target) continue;
+                    targets[write] = target;
+                    weights[write] = (int) packed[arc];
+                    write++;
+                }
+            }
+            offsets[nodeCount] = write;
+
+            if (write < targets.length) {
+                targets = Arrays.copyOf(targets, write);
+                weights = Arrays.copyOf(weights, write);
+            }
+            return new CsrGraph(nodeCount, offsets, targets, weights);
+        }
+    }
+}
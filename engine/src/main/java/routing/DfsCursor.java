@@ -0,0 +1,278 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Depth-first traversal that produces one step per call instead of running to completion.
+ *
+ * The cursor yields the same step sequence as {@link DfsEngine#run}: the visit of a
+ * node, every arc considered from it, and an all-visited marker after the visit that
+ * completed the graph. Between calls it keeps only the visited bitset and the current
+ * search path, so a caller can pace the traversal (one step per animation frame, for
+ * example) without materialising the whole trace first. The path stack grows with
+ * the search depth. The current step is exposed as a packed {@link DfsStep}.
+ * {@link #checkpoint()} copies that state and {@link #restore} returns to it, which
+ * lets {@link DfsReplay} go back to earlier steps without recording every step.
+ *
+ * A cursor holds mutable state and must not be shared between threads.
+ */
+public final class DfsCursor {
+
+    private static final int RUNNING = 0;
+    private static final int PENDING_VISIT = 1;
+    private static final int PENDING_ALL_VISITED = 2;
+    private static final int FINISHED = 3;
+
+    private final CsrGraph graph;
+    private final long[] visited;
+    private int[] stackNode = new int[16];
+    private int[] stackArc = new int[16];
+    private boolean[] stackFound = new boolean[16];
+    private int depth;
+    private int destination;
+    private int visitedCount;
+    private int state = FINISHED;
+    private boolean found;
+    private int stepCount;
+    private int consideredCount;
+    private int peakDepth;
+
+    private int pendingNode;
+    private int pendingArc;
+    private long step = DfsStep.NONE;
+
+    public DfsCursor(CsrGraph graph) {
+        this.graph = graph;
+        this.visited = new long[(graph.nodeCount + 63) >>> 6];
+    }
+
+    /**
+     * Restarts the cursor at source. Pass -1 as destination to traverse the whole
+     * component of source. The first call to {@link #advance()} yields the visit of source.
+     */
+    public void start(int source, int destination) {
+        if (source < 0 || source >= graph.nodeCount) {
+            throw new IndexOutOfBoundsException("Source " + source + " outside graph of " + graph.nodeCount + " nodes");
+        }
+        Arrays.fill(visited, 0L);
+        this.destination = destination;
+        visitedCount = 0;
+        depth = -1;
+        found = false;
+        stepCount = 0;
+        consideredCount = 0;
+        peakDepth = 0;
+        pendingNode = source;
+        pendingArc = -1;
+        step = DfsStep.NONE;
+        state = PENDING_VISIT;
+    }
+
+    /** Whether another step is available. */
+    public boolean hasNext() {
+        return state != FINISHED;
+    }
+
+    /** Produces the next step and returns true, or returns false once the traversal has ended. */
+    public boolean advance() {
+        switch (state) {
+            case PENDING_VISIT: {
+                int v = pendingNode;
+                markVisited(v);
+                push(v);
+                step = DfsStep.pack(StepKind.VISIT, v, pendingArc);
+                state = visitedCount == graph.nodeCount ? PENDING_ALL_VISITED : RUNNING;
+                break;
+            }
+            case PENDING_ALL_VISITED:
+                step = DfsStep.pack(StepKind.ALL_VISITED, DfsStep.node(step), -1);
+                state = RUNNING;
+                break;
+            case RUNNING: {
+                int u = stackNode[depth];
+                int next = stackArc[depth]++;
+                int v = graph.targets[next];
+                step = DfsStep.pack(StepKind.CONSIDER, u, next);
+                consideredCount++;
+                if (!isVisited(v)) {
+                    pendingNode = v;
+                    pendingArc = next;
+                    state = PENDING_VISIT;
+                }
+                break;
+            }
+            default:
+                return false;
+        }
+        stepCount++;
+        if (state == RUNNING) {
+            unwind();
+        }
+        return true;
+    }
+
+    /**
+     * Pops every frame whose arcs are exhausted, passing its result to the parent, until
+     * a frame has an arc left or the traversal ends.
+     */
+    private void unwind() {
+        final int[] offsets = graph.offsets;
+        while (stackArc[depth] >= offsets[stackNode[depth] + 1]) {
+            boolean frameFound = stackFound[depth];
+            if (depth == 0) {
+                found = frameFound;
+                state = FINISHED;
+                return;
+            }
+            depth--;
+            stackFound[depth] |= frameFound;
+            if (stackFound[depth] && visitedCount == graph.nodeCount) {
+                found = true; // Early exit once the destination is found and all nodes are visited
+                state = FINISHED;
+                return;
+            }
+        }
+    }
+
+    private void push(int v) {
+        depth++;
+        if (depth > peakDepth) {
+            peakDepth = depth;
+        }
+        if (depth == stackNode.length) {
+            int capacity = depth * 2;
+            stackNode = Arrays.copyOf(stackNode, capacity);
+            stackArc = Arrays.copyOf(stackArc, capacity);
+            stackFound = Arrays.copyOf(stackFound, capacity);
+        }
+        stackNode[depth] = v;
+        stackArc[depth] = graph.offsets[v];
+        stackFound[depth] = v == destination;
+    }
+
+    /** The current step as a packed {@link DfsStep}, or {@link DfsStep#NONE} before the first step. */
+    public long step() {
+        return step;
+    }
+
+    /** Number of steps produced since {@link #start}. */
+    public int stepCount() {
+        return stepCount;
+    }
+
+    /** Whether the destination was reached; final once {@link #hasNext()} is false. */
+    public boolean found() {
+        return found;
+    }
+
+    /** Current depth of the search path, 0 at the source. */
+    public int depth() {
+        return depth;
+    }
+
+    public int visitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * Work done since {@link #start}: visited nodes as settled, considered arcs as
+     * scanned and the deepest search path as the peak frontier. The cursor is paced by
+     * its caller, so the metrics are not timed.
+     */
+    public QueryMetrics metrics() {
+        return new QueryMetrics(visitedCount, consideredCount, 0, 0, 0, 0, peakDepth + 1, QueryMetrics.NOT_TIMED);
+    }
+
+    public boolean isVisited(int node) {
+        return (visited[node >>> 6] & (1L << node)) != 0;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /** Saves the current state, which takes about n / 8 bytes plus 9 bytes per search path level. */
+    public Checkpoint checkpoint() {
+        return new Checkpoint(this);
+    }
+
+    /**
+     * Returns to the state saved in checkpoint, which must come from this cursor and the
+     * traversal it is running now. The next {@link #advance()} yields the step that
+     * followed the checkpoint.
+     */
+    public void restore(Checkpoint checkpoint) {
+        if (checkpoint.visited.length != visited.length) {
+            throw new IllegalArgumentException("Checkpoint was taken on a graph of another size");
+        }
+        System.arraycopy(checkpoint.visited, 0, visited, 0, visited.length);
+        int frames = checkpoint.depth + 1;
+        if (frames > stackNode.length) {
+            stackNode = new int[frames];
+            stackArc = new int[frames];
+            stackFound = new boolean[frames];
+        }
+        System.arraycopy(checkpoint.stackNode, 0, stackNode, 0, frames);
+        System.arraycopy(checkpoint.stackArc, 0, stackArc, 0, frames);
+        System.arraycopy(checkpoint.stackFound, 0, stackFound, 0, frames);
+        depth = checkpoint.depth;
+        destination = checkpoint.destination;
+        visitedCount = checkpoint.visitedCount;
+        state = checkpoint.state;
+        found = checkpoint.found;
+        stepCount = checkpoint.stepCount;
+        consideredCount = checkpoint.consideredCount;
+        peakDepth = checkpoint.peakDepth;
+        pendingNode = checkpoint.pendingNode;
+        pendingArc = checkpoint.pendingArc;
+        step = checkpoint.step;
+    }
+
+    private void markVisited(int node) {
+        visited[node >>> 6] |= 1L << node;
+        visitedCount++;
+    }
+
+    /** State of a cursor after some step: the visited bitset, the search path and the counters. */
+    public static final class Checkpoint {
+        private final long[] visited;
+        private final int[] stackNode;
+        private final int[] stackArc;
+        private final boolean[] stackFound;
+        private final int depth;
+        private final int destination;
+        private final int visitedCount;
+        private final int state;
+        private final boolean found;
+        private final int stepCount;
+        private final int consideredCount;
+        private final int peakDepth;
+        private final int pendingNode;
+        private final int pendingArc;
+        private final long step;
+
+        private Checkpoint(DfsCursor cursor) {
+            int frames = cursor.depth + 1;
+            visited = cursor.visited.clone();
+            stackNode = Arrays.copyOf(cursor.stackNode, frames);
+            stackArc = Arrays.copyOf(cursor.stackArc, frames);
+            stackFound = Arrays.copyOf(cursor.stackFound, frames);
+            depth = cursor.depth;
+            destination = cursor.destination;
+            visitedCount = cursor.visitedCount;
+            state = cursor.state;
+            found = cursor.found;
+            stepCount = cursor.stepCount;
+            consideredCount = cursor.consideredCount;
+            peakDepth = cursor.peakDepth;
+            pendingNode = cursor.pendingNode;
+            pendingArc = cursor.pendingArc;
+            step = cursor.step;
+        }
+
+        /** Number of steps the cursor had produced when the checkpoint was taken. */
+        public int stepCount() {
+            return stepCount;
+        }
+    }
+}
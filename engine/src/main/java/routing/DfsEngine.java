@@ -0,0 +1,162 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Iterative depth-first search over a {@link CsrGraph}.
+ *
+ * The traversal keeps its own primitive stack instead of recursing, so its depth is
+ * bounded by the node count rather than the thread stack, and it reports each step
+ * to a {@link StepSink} as plain ints. All scratch arrays are allocated once per
+ * engine and reused by every run.
+ *
+ * The step sequence matches the recursive search the visualizer used to run: a
+ * node is reported on first visit, every arc scanned from it is reported as
+ * considered, and the search stops unwinding as soon as every node has been
+ * visited and the destination has been reached.
+ */
+public final class DfsEngine {
+
+    /** Receives the steps of a traversal in order. */
+    public interface StepSink {
+
+        /** Node is visited for the first time, reached from parent over viaArc (both -1 for the source). */
+        void visit(int node, int parent, int viaArc);
+
+        /** Arc leaving node is about to be followed or skipped. */
+        void consider(int node, int arc);
+
+        /** The visit of node was the one that completed the traversal of every node. */
+        void allVisited(int node);
+    }
+
+    private final CsrGraph graph;
+    private final long[] visited;
+    private final int[] stackNode;
+    private final int[] stackArc;
+    private final boolean[] stackFound;
+    private int visitedCount;
+
+    public DfsEngine(CsrGraph graph) {
+        this.graph = graph;
+        int n = graph.nodeCount;
+        this.visited = new long[(n + 63) >>> 6];
+        this.stackNode = new int[n];
+        this.stackArc = new int[n];
+        this.stackFound = new boolean[n];
+    }
+
+    /**
+     * Runs a depth-first search from source and returns whether destination was reached.
+     * Pass -1 as destination to traverse the whole component of source.
+     */
+    public boolean run(int source, int destination, StepSink sink) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final int n = graph.nodeCount;
+
+        Arrays.fill(visited, 0L);
+        visitedCount = 0;
+
+        int depth = 0;
+        markVisited(source);
+        sink.visit(source, -1, -1);
+        if (visitedCount == n) {
+            sink.allVisited(source);
+        }
+        stackNode[0] = source;
+        stackArc[0] = offsets[source];
+        stackFound[0] = source == destination;
+
+        while (true) {
+            int u = stackNode[depth];
+            int arc = stackArc[depth];
+
+            if (arc < offsets[u + 1]) {
+                stackArc[depth] = arc + 1;
+                int v = targets[arc];
+                sink.consider(u, arc);
+
+                if (!isVisited(v)) {
+                    markVisited(v);
+                    sink.visit(v, u, arc);
+                    if (visitedCount == n) {
+                        sink.allVisited(v);
+                    }
+                    depth++;
+                    stackNode[depth] = v;
+                    stackArc[depth] = offsets[v];
+                    stackFound[depth] = v == destination;
+                }
+                continue;
+            }
+
+            // Every arc of u has been scanned: return its result to the parent frame
+            boolean found = stackFound[depth];
+            if (depth == 0) {
+                return found;
+            }
+            depth--;
+            stackFound[depth] |= found;
+            if (stackFound[depth] && visitedCount == n) {
+                return true; // Early exit once the destination is found and all nodes are visited
+            }
+        }
+    }
+
+    /**
+     * Returns whether destination can be reached from source, stopping as soon as it
+     * is visited. No steps are reported.
+     */
+    public boolean reaches(int source, int destination) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+
+        Arrays.fill(visited, 0L);
+        visitedCount = 0;
+        if (source == destination) {
+            markVisited(source);
+            return true;
+        }
+
+        // Nodes are pushed once and popped in depth-first order, so the stack never
+        // exceeds the node count
+        int top = 0;
+        markVisited(source);
+        stackNode[top++] = source;
+        while (top > 0) {
+            int u = stackNode[--top];
+            for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                int v = targets[arc];
+                if (!isVisited(v)) {
+                    if (v == destination) {
+                        markVisited(v);
+                        return true;
+                    }
+                    markVisited(v);
+                    stackNode[top++] = v;
+                }
+            }
+        }
+        return false;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /** Number of nodes visited by the last run. */
+    public int visitedCount() {
+        return visitedCount;
+    }
+
+    /** Whether node was visited by the last run. */
+    public boolean isVisited(int node) {
+        return (visited[node >>> 6] & (1L << node)) != 0;
+    }
+
+    private void markVisited(int node) {
+        visited[node >>> 6] |= 1L << node;
+        visitedCount++;
+    }
+}
@@ -0,0 +1,108 @@
+package routing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link DfsCursor} that can be moved back to any step it has already produced.
+ *
+ * Instead of recording every step, as {@link DfsTrace} does, the replay saves a
+ * {@link DfsCursor.Checkpoint} every {@link #interval()} steps. Moving to step k
+ * restores the last checkpoint at or before k and advances the cursor from there.
+ * The traversal is deterministic, so it yields the same steps again.
+ *
+ * The interval is 16 steps per node of the graph, with a floor of 1024 steps. A
+ * checkpoint holds at most about 9 bytes per node, so checkpoints cost under one byte
+ * per step even when the search path spans the whole graph. A trace costs 8 bytes
+ * per step. In exchange, each seek replays up to 16 n steps. That is the same order
+ * as redrawing the visited nodes, which a seek in the visualizer does anyway.
+ *
+ * Like the cursor it wraps, a replay must not be shared between threads.
+ */
+public final class DfsReplay {
+
+    private static final int STEPS_PER_NODE = 16;
+    private static final int MIN_INTERVAL = 1024;
+
+    private final DfsCursor cursor;
+    private final int interval;
+    private final List<DfsCursor.Checkpoint> checkpoints = new ArrayList<>();
+    private int produced;
+
+    /** Wraps cursor, which must have been started and not yet advanced. */
+    public DfsReplay(DfsCursor cursor) {
+        this(cursor, (int) Math.min(Integer.MAX_VALUE,
+                Math.max(MIN_INTERVAL, (long) STEPS_PER_NODE * cursor.graph().nodeCount())));
+    }
+
+    /** Wraps cursor with checkpoints every interval steps; tests use short intervals. */
+    DfsReplay(DfsCursor cursor, int interval) {
+        if (cursor.stepCount() != 0) {
+            throw new IllegalArgumentException("Cursor has already produced " + cursor.stepCount() + " steps");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.cursor = cursor;
+        this.interval = interval;
+        checkpoints.add(cursor.checkpoint());
+    }
+
+    /** Produces the step after the current one and returns true, or returns false once the traversal has ended. */
+    public boolean advance() {
+        if (!cursor.advance()) {
+            return false;
+        }
+        int position = cursor.stepCount();
+        if (position > produced) {
+            produced = position;
+            if (position % interval == 0) {
+                checkpoints.add(cursor.checkpoint());
+            }
+        }
+        return true;
+    }
+
+    /** Moves to the state after the first position steps, which must already have been produced. */
+    public void seek(int position) {
+        if (position < 0 || position > produced) {
+            throw new IndexOutOfBoundsException("Step " + position + " outside the " + produced + " steps produced");
+        }
+        if (position < cursor.stepCount() || position - cursor.stepCount() > interval) {
+            cursor.restore(checkpoints.get(position / interval));
+        }
+        while (cursor.stepCount() < position) {
+            cursor.advance();
+        }
+    }
+
+    /** Number of steps applied so far. */
+    public int position() {
+        return cursor.stepCount();
+    }
+
+    /** Number of steps produced so far, the furthest position reached. */
+    public int produced() {
+        return produced;
+    }
+
+    /** The current step, or {@link DfsStep#NONE} at position 0. */
+    public long step() {
+        return cursor.step();
+    }
+
+    /** The wrapped cursor, positioned at the current step; callers must not advance it directly. */
+    public DfsCursor cursor() {
+        return cursor;
+    }
+
+    /** Steps between two checkpoints. */
+    public int interval() {
+        return interval;
+    }
+
+    /** Number of checkpoints held, including the one at the start. */
+    public int checkpointCount() {
+        return checkpoints.size();
+    }
+}
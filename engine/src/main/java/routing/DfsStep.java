@@ -0,0 +1,55 @@
+package routing;
+
+/**
+ * Packs a depth-first traversal step into a single long.
+ *
+ * Layout, from the most significant bit: 2 bits of {@link StepKind} ordinal, 31 bits
+ * of node index, and 31 bits holding the arc index plus one (0 when the step has no
+ * arc, as for the visit of the source). For a visit the arc is the one the node was
+ * reached over, so its source is the parent; for a consider step it is the arc
+ * scanned from the node. Steps can be stored in plain long arrays, with no object
+ * or string per step.
+ */
+public final class DfsStep {
+
+    /** Value that is never a valid step, returned when a traversal has no more steps. */
+    public static final long NONE = -1L;
+
+    private static final int ARC_BITS = 31;
+    private static final int NODE_BITS = 31;
+    private static final long ARC_MASK = (1L << ARC_BITS) - 1;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    private static final int KIND_SHIFT = ARC_BITS + NODE_BITS;
+
+    private DfsStep() {
+    }
+
+    /** Packs a step; arc may be -1. */
+    public static long pack(StepKind kind, int node, int arc) {
+        return ((long) kind.ordinal() << KIND_SHIFT)
+                | ((long) node << ARC_BITS)
+                | ((long) (arc + 1) & ARC_MASK);
+    }
+
+    public static StepKind kind(long step) {
+        return StepKind.ofOrdinal((int) (step >>> KIND_SHIFT));
+    }
+
+    public static int node(long step) {
+        return (int) ((step >>> ARC_BITS) & NODE_MASK);
+    }
+
+    /** Arc of the step, or -1. */
+    public static int arc(long step) {
+        return (int) (step & ARC_MASK) - 1;
+    }
+
+    /** Formats a step for logs, e.g. "VISIT N3 via arc 7". */
+    public static String toString(long step) {
+        if (step == NONE) {
+            return "NONE";
+        }
+        int arc = arc(step);
+        return kind(step) + " N" + node(step) + (arc >= 0 ? " via arc " + arc : "");
+    }
+}
@@ -0,0 +1,67 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Append-only sequence of packed {@link DfsStep} values.
+ *
+ * A step costs 8 bytes in a single growable long array. A list of step objects
+ * holding two id strings each costs well over 100 bytes per step. A trace with
+ * millions of steps therefore fits in a few tens of megabytes, and it can be
+ * replayed or indexed at random. Memory still grows with the number of steps;
+ * {@link DfsReplay} keeps sparse checkpoints instead, for scrubbing back through a
+ * traversal of any length.
+ */
+public final class DfsTrace {
+
+    private long[] steps;
+    private int size;
+
+    public DfsTrace() {
+        this(64);
+    }
+
+    public DfsTrace(int initialCapacity) {
+        steps = new long[Math.max(initialCapacity, 1)];
+    }
+
+    /** Records every remaining step of cursor. */
+    public static DfsTrace record(DfsCursor cursor) {
+        DfsTrace trace = new DfsTrace();
+        while (cursor.advance()) {
+            trace.add(cursor.step());
+        }
+        return trace;
+    }
+
+    public void add(long step) {
+        if (size == steps.length) {
+            steps = Arrays.copyOf(steps, size * 2);
+        }
+        steps[size++] = step;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Step " + index + " outside trace of " + size + " steps");
+        }
+        return steps[index];
+    }
+
+    /** Last recorded step, or {@link DfsStep#NONE} if the trace is empty. */
+    public long last() {
+        return size == 0 ? DfsStep.NONE : steps[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
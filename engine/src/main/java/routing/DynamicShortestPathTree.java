@@ -0,0 +1,200 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Shortest-path tree from one source that is repaired in place when an edge changes.
+ *
+ * Repairs follow Ramalingam and Reps. A new or cheaper edge can only shorten paths
+ * through it, so the decrease is pushed outwards from its endpoints with a Dijkstra
+ * run that stops as soon as no distance improves. When a tree edge is removed or
+ * made more expensive, only the subtree hanging below it can get longer. That
+ * subtree is collected and its labels cleared. Each of its nodes is seeded with its
+ * best distance through a neighbour outside the subtree, and the subtree alone is
+ * re-settled. Removing or raising an edge outside the tree changes nothing. Either
+ * way the work is proportional to the region whose distances changed, not the graph.
+ *
+ * A tree holds mutable state and must not be shared between threads without
+ * external synchronization.
+ */
+public final class DynamicShortestPathTree {
+
+    private CsrGraph graph;
+    private final int source;
+    private final int[] distance;
+    private final int[] predecessor;
+    private final int[] mark;
+    private final int[] affected;
+    private final IndexedDaryHeap heap;
+    private int stamp;
+    private int settledCount;
+
+    /** Builds the complete tree from source over graph. */
+    public DynamicShortestPathTree(CsrGraph graph, int source) {
+        int n = graph.nodeCount;
+        if (source < 0 || source >= n) {
+            throw new IndexOutOfBoundsException("Source " + source + " outside graph of " + n + " nodes");
+        }
+        this.graph = graph;
+        this.source = source;
+        this.distance = new int[n];
+        this.predecessor = new int[n];
+        this.mark = new int[n];
+        this.affected = new int[n];
+        this.heap = new IndexedDaryHeap(n);
+        Arrays.fill(distance, ShortestPathEngine.UNREACHABLE);
+        Arrays.fill(predecessor, -1);
+
+        distance[source] = 0;
+        heap.insertOrDecrease(source, 0);
+        propagate();
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    public int source() {
+        return source;
+    }
+
+    /** Distance from the source to node, or {@link ShortestPathEngine#UNREACHABLE}. */
+    public int distance(int node) {
+        return distance[node];
+    }
+
+    /** Predecessor of node in the tree, or -1 for the source and unreachable nodes. */
+    public int predecessor(int node) {
+        return predecessor[node];
+    }
+
+    /** Number of nodes settled by the build or the last repair. */
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /** Returns the nodes of the tree path to target, source first, or an empty array if unreachable. */
+    public int[] path(int target) {
+        if (distance[target] == ShortestPathEngine.UNREACHABLE) {
+            return new int[0];
+        }
+        int length = 0;
+        for (int node = target; node >= 0; node = predecessor[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = target, i = length - 1; node >= 0; node = predecessor[node], i--) {
+            path[i] = node;
+        }
+        return path;
+    }
+
+    /**
+     * Repairs the tree after edge {u, v} was added, removed or re-weighted. edited is
+     * the graph after the change; every other edge must be the same as before.
+     */
+    public void edgeChanged(CsrGraph edited, int u, int v) {
+        if (edited.nodeCount != graph.nodeCount) {
+            throw new IllegalArgumentException("Edited graph has " + edited.nodeCount
+                    + " nodes, expected " + graph.nodeCount);
+        }
+        graph = edited;
+        settledCount = 0;
+        int weight = edited.weight(u, v);
+
+        // A tree edge that got longer or disappeared invalidates the subtree below it
+        if (predecessor[v] == u && (weight == 0 || distance[u] + weight > distance[v])) {
+            resettleSubtree(v);
+        } else if (predecessor[u] == v && (weight == 0 || distance[v] + weight > distance[u])) {
+            resettleSubtree(u);
+        }
+
+        // A new or cheaper edge can only improve paths through it
+        if (weight > 0) {
+            relax(u, v, weight);
+            relax(v, u, weight);
+            propagate();
+        }
+    }
+
+    private void relax(int from, int to, int weight) {
+        int d = distance[from];
+        if (d != ShortestPathEngine.UNREACHABLE && d + weight < distance[to]) {
+            distance[to] = d + weight;
+            predecessor[to] = from;
+            heap.insertOrDecrease(to, d + weight);
+        }
+    }
+
+    private void resettleSubtree(int root) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final int[] weights = graph.weights;
+        final int subtreeStamp = ++stamp;
+
+        // Collect the subtree: children are the neighbours whose predecessor is the node
+        int count = 0;
+        affected[count++] = root;
+        mark[root] = subtreeStamp;
+        for (int i = 0; i < count; i++) {
+            int x = affected[i];
+            for (int arc = offsets[x], end = offsets[x + 1]; arc < end; arc++) {
+                int y = targets[arc];
+                if (predecessor[y] == x && mark[y] != subtreeStamp) {
+                    mark[y] = subtreeStamp;
+                    affected[count++] = y;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int x = affected[i];
+            distance[x] = ShortestPathEngine.UNREACHABLE;
+            predecessor[x] = -1;
+        }
+
+        // Seed each affected node with its best entry from the unaffected part of the tree
+        for (int i = 0; i < count; i++) {
+            int x = affected[i];
+            int best = ShortestPathEngine.UNREACHABLE;
+            int bestPredecessor = -1;
+            for (int arc = offsets[x], end = offsets[x + 1]; arc < end; arc++) {
+                int y = targets[arc];
+                if (mark[y] == subtreeStamp || distance[y] == ShortestPathEngine.UNREACHABLE) continue;
+                int alt = distance[y] + weights[arc];
+                if (alt < best) {
+                    best = alt;
+                    bestPredecessor = y;
+                }
+            }
+            if (bestPredecessor >= 0) {
+                distance[x] = best;
+                predecessor[x] = bestPredecessor;
+                heap.insertOrDecrease(x, best);
+            }
+        }
+        settledCount += count;
+        propagate();
+    }
+
+    /** Settles queued nodes until no distance improves; nodes outside the changed region are never queued. */
+    private void propagate() {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final int[] weights = graph.weights;
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settledCount++;
+            int du = distance[u];
+            for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                int v = targets[arc];
+                int alt = du + weights[arc];
+                if (alt < distance[v]) {
+                    distance[v] = alt;
+                    predecessor[v] = u;
+                    heap.insertOrDecrease(v, alt);
+                }
+            }
+        }
+    }
+}
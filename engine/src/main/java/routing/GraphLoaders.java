@@ -0,0 +1,512 @@
+package routing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Reads graphs from DIMACS shortest-path, weighted edge-list and METIS files.
+ *
+ * Files are memory-mapped and parsed byte by byte with a hand-written number parser,
+ * so no line strings or token arrays are allocated. Files larger than
+ * {@link #CHUNK_BYTES} are cut into chunks at line breaks and the chunks are parsed
+ * in parallel, each into primitive edge arrays, which are then packed into a
+ * {@link CsrGraph} in one build. Parallel edges keep their smallest weight, so the
+ * two directed arcs DIMACS files list for every road become one undirected edge.
+ *
+ * Formats:
+ * <ul>
+ *   <li>DIMACS (.gr): "p sp n m" once, then "a u v w" per arc with 1-based nodes;
+ *       lines starting with 'c' are comments.</li>
+ *   <li>Edge list: "u v w" per edge with 0-based nodes, which may be written as
+ *       visualizer ids such as "N12"; lines starting with '#' are comments.</li>
+ *   <li>METIS (.graph, .metis): a header "n m [fmt [ncon]]", then line i lists the
+ *       1-based neighbours of node i, each followed by its edge weight when fmt ends
+ *       in 1 (otherwise weights are 1); lines starting with '%' are comments.</li>
+ *   <li>Snapshot (.csrg): the binary format of {@link GraphSnapshot}, which needs no
+ *       parsing.</li>
+ * </ul>
+ *
+ * Edge weights must be positive, and the node count times the largest weight may not
+ * exceed {@link #MAX_PATH_LENGTH}. A shortest path has fewer edges than there are
+ * nodes, so no path length overflows an int, nor does the sum of two that the
+ * bidirectional searches compare. Files breaking either rule are rejected with an
+ * IOException, as are malformed ones.
+ */
+public final class GraphLoaders {
+
+    /** Files are split into chunks of about this many bytes, parsed in parallel. */
+    static final int CHUNK_BYTES = 1 << 26;
+
+    /** Bound on node count times largest edge weight, so two path lengths can be added. */
+    public static final int MAX_PATH_LENGTH = Integer.MAX_VALUE / 2;
+
+    /** Supported graph file formats. */
+    public enum Format {
+        DIMACS("DIMACS .gr"),
+        EDGE_LIST("Edge list"),
+        METIS("METIS"),
+        SNAPSHOT("Binary snapshot");
+
+        private final String displayName;
+
+        Format(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /** Format implied by the file extension; anything unrecognised is read as an edge list. */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".gr")) {
+                return DIMACS;
+            }
+            if (name.endsWith(".graph") || name.endsWith(".metis")) {
+                return METIS;
+            }
+            if (name.endsWith(GraphSnapshot.EXTENSION)) {
+                return SNAPSHOT;
+            }
+            return EDGE_LIST;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private GraphLoaders() {
+    }
+
+    /** Reads file in the format implied by its extension. */
+    public static CsrGraph load(Path file) throws IOException {
+        return load(file, Format.of(file));
+    }
+
+    public static CsrGraph load(Path file, Format format) throws IOException {
+        return load(file, format, CHUNK_BYTES);
+    }
+
+    /** Reads file, splitting text formats into chunks of about chunkBytes; tests use small chunks. */
+    static CsrGraph load(Path file, Format format, int chunkBytes) throws IOException {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkBytes);
+        }
+        RoutingEvents.GraphLoad event = new RoutingEvents.GraphLoad();
+        event.begin();
+        CsrGraph graph = read(file, format, chunkBytes);
+        if (event.shouldCommit()) {
+            event.format = format.name();
+            event.path = file.toString();
+            event.fileSize = Files.size(file);
+            event.nodeCount = graph.nodeCount();
+            event.arcCount = graph.arcCount();
+            event.commit();
+        }
+        return graph;
+    }
+
+    private static CsrGraph read(Path file, Format format, int chunkBytes) throws IOException {
+        CsrGraph graph = format == Format.SNAPSHOT ? GraphSnapshot.read(file).graph()
+                : parse(file, format, chunkBytes);
+        int maxWeight = 0;
+        for (int weight : graph.weights) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        if ((long) graph.nodeCount * maxWeight > MAX_PATH_LENGTH) {
+            throw new IOException(file + ": Weights up to " + maxWeight + " on " + graph.nodeCount
+                    + " nodes can overflow path lengths; node count times largest weight must not exceed "
+                    + MAX_PATH_LENGTH);
+        }
+        return graph;
+    }
+
+    private static CsrGraph parse(Path file, Format format, int chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            switch (format) {
+                case DIMACS:
+                    return loadDimacs(channel, size, chunkBytes);
+                case METIS:
+                    return loadMetis(channel, size, chunkBytes);
+                default:
+                    return loadEdgeList(channel, size, chunkBytes);
+            }
+        } catch (UncheckedIOException e) {
+            throw new IOException(file + ": " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static CsrGraph loadEdgeList(FileChannel channel, long size, int chunkBytes) throws IOException {
+        long[] bounds = chunkBounds(channel, 0, size, chunkBytes);
+        Edges[] chunks = parseChunks(channel, bounds, (parser, edges) -> {
+            while (parser.hasMore()) {
+                if (parser.skipBlankOrComment('#')) {
+                    continue;
+                }
+                parser.skipByte('N');
+                int u = parser.nextInt();
+                parser.skipByte('N');
+                int v = parser.nextInt();
+                int w = parser.nextWeight();
+                edges.add(u, v, w);
+                // Columns after the weight are ignored
+                parser.skipLine();
+            }
+        });
+        int maxNode = -1;
+        for (Edges chunk : chunks) {
+            maxNode = Math.max(maxNode, chunk.maxNode);
+        }
+        return build(maxNode + 1, chunks);
+    }
+
+    private static CsrGraph loadDimacs(FileChannel channel, long size, int chunkBytes) throws IOException {
+        // The problem line comes before any arc, so it is read from the start of the file
+        Parser header = new Parser(map(channel, 0, Math.min(size, CHUNK_BYTES)), 0);
+        int n = -1;
+        long bodyStart = 0;
+        while (header.hasMore() && n < 0) {
+            if (header.peek() == 'p') {
+                header.skipWord();
+                header.skipWord();
+                n = header.nextInt();
+            }
+            header.skipLine();
+            bodyStart = header.position();
+        }
+        if (n < 0) {
+            throw new IOException("Missing DIMACS problem line");
+        }
+
+        int nodeCount = n;
+        long[] bounds = chunkBounds(channel, bodyStart, size, chunkBytes);
+        Edges[] chunks = parseChunks(channel, bounds, (parser, edges) -> {
+            while (parser.hasMore()) {
+                if (parser.peek() != 'a') {
+                    // Comments, blank lines and a repeated problem line carry no arcs
+                    parser.skipLine();
+                    continue;
+                }
+                parser.skipWord();
+                int u = parser.nextInt() - 1;
+                int v = parser.nextInt() - 1;
+                int w = parser.nextWeight();
+                if (u < 0 || u >= nodeCount || v < 0 || v >= nodeCount) {
+                    throw parser.error("Arc " + (u + 1) + "-" + (v + 1) + " outside nodes 1.." + nodeCount);
+                }
+                edges.add(u, v, w);
+                parser.skipLine();
+            }
+        });
+        return build(nodeCount, chunks);
+    }
+
+    private static CsrGraph loadMetis(FileChannel channel, long size, int chunkBytes) throws IOException {
+        Parser header = new Parser(map(channel, 0, Math.min(size, CHUNK_BYTES)), 0);
+        while (header.hasMore() && header.skipBlankOrComment('%')) {
+            // Skip to the header line
+        }
+        if (!header.hasMore()) {
+            throw new IOException("Missing METIS header line");
+        }
+        int n = header.nextInt();
+        header.nextInt();
+        int fmt = header.atLineEnd() ? 0 : header.nextInt();
+        int ncon = header.atLineEnd() ? 1 : header.nextInt();
+        header.skipLine();
+
+        // fmt is read as decimal digits: vertex sizes, vertex weights, edge weights
+        boolean edgeWeights = fmt % 10 == 1;
+        int skipPerLine = (fmt / 10 % 10 == 1 ? ncon : 0) + (fmt / 100 % 10 == 1 ? 1 : 0);
+
+        // Line i is node i, so each chunk has to know how many node lines precede it
+        long[] bounds = chunkBounds(channel, header.position(), size, chunkBytes);
+        int chunkCount = bounds.length - 1;
+        int[] nodeLines = new int[chunkCount + 1];
+        IntStream.range(0, chunkCount).parallel().forEach(i -> {
+            Parser parser = new Parser(map(channel, bounds[i], bounds[i + 1] - bounds[i]), bounds[i]);
+            int lines = 0;
+            while (parser.hasMore()) {
+                if (parser.peek() != '%') {
+                    lines++;
+                }
+                parser.skipLine();
+            }
+            nodeLines[i + 1] = lines;
+        });
+        for (int i = 0; i < chunkCount; i++) {
+            nodeLines[i + 1] += nodeLines[i];
+        }
+        if (nodeLines[chunkCount] < n) {
+            throw new IOException("METIS file lists " + nodeLines[chunkCount] + " of " + n + " nodes");
+        }
+
+        Edges[] chunks = new Edges[chunkCount];
+        IntStream.range(0, chunkCount).parallel().forEach(i -> {
+            Parser parser = new Parser(map(channel, bounds[i], bounds[i + 1] - bounds[i]), bounds[i]);
+            Edges edges = new Edges();
+            int u = nodeLines[i];
+            while (parser.hasMore() && u < n) {
+                if (parser.peek() == '%') {
+                    parser.skipLine();
+                    continue;
+                }
+                for (int k = 0; k < skipPerLine; k++) {
+                    parser.nextInt();
+                }
+                while (!parser.atLineEnd()) {
+                    int v = parser.nextInt() - 1;
+                    int w = edgeWeights ? parser.nextWeight() : 1;
+                    if (v < 0 || v >= n) {
+                        throw parser.error("Neighbour " + (v + 1) + " outside nodes 1.." + n);
+                    }
+                    // Every edge is listed by both of its nodes; the lower one adds it
+                    if (u < v) {
+                        edges.add(u, v, w);
+                    }
+                }
+                parser.skipLine();
+                u++;
+            }
+            chunks[i] = edges;
+        });
+        return build(n, chunks);
+    }
+
+    private interface ChunkParser {
+        void parse(Parser parser, Edges edges);
+    }
+
+    private static Edges[] parseChunks(FileChannel channel, long[] bounds, ChunkParser chunkParser) {
+        Edges[] chunks = new Edges[bounds.length - 1];
+        IntStream.range(0, chunks.length).parallel().forEach(i -> {
+            Edges edges = new Edges();
+            chunkParser.parse(new Parser(map(channel, bounds[i], bounds[i + 1] - bounds[i]), bounds[i]), edges);
+            chunks[i] = edges;
+        });
+        return chunks;
+    }
+
+    private static CsrGraph build(int nodeCount, Edges[] chunks) throws IOException {
+        long total = 0;
+        for (Edges chunk : chunks) {
+            total += chunk.size;
+        }
+        if (total > Integer.MAX_VALUE / 2) {
+            throw new IOException("Graph has too many edges: " + total);
+        }
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodeCount, (int) total);
+        for (Edges chunk : chunks) {
+            for (int e = 0; e < chunk.size; e++) {
+                builder.addEdge(chunk.from[e], chunk.to[e], chunk.weights[e]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Splits [start, end) into ranges of about chunkBytes, each ending just after a line
+     * break (or at end), so no line is split between two chunks.
+     */
+    private static long[] chunkBounds(FileChannel channel, long start, long end, int chunkBytes)
+            throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(start);
+        long position = start;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        while (end - position > chunkBytes) {
+            long cut = position + chunkBytes;
+            boolean found = false;
+            while (!found && cut < end) {
+                probe.clear();
+                int read = channel.read(probe, cut);
+                if (read <= 0) {
+                    cut = end;
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        cut += i + 1;
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    cut += read;
+                }
+            }
+            position = Math.min(cut, end);
+            bounds.add(position);
+        }
+        if (position < end) {
+            bounds.add(end);
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Edges parsed from one chunk, in primitive arrays. */
+    private static final class Edges {
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        int[] weights = new int[1024];
+        int size;
+        int maxNode = -1;
+
+        void add(int u, int v, int weight) {
+            if (size == from.length) {
+                int capacity = size + (size >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weights[size] = weight;
+            size++;
+            maxNode = Math.max(maxNode, Math.max(u, v));
+        }
+    }
+
+    /**
+     * Reads unsigned decimal integers and line structure straight from a mapped buffer.
+     * Spaces, tabs and carriage returns separate tokens; '\n' ends a line.
+     */
+    private static final class Parser {
+        private final ByteBuffer buffer;
+        private final long base;
+        private final int limit;
+        private int position;
+
+        Parser(ByteBuffer buffer, long base) {
+            this.buffer = buffer;
+            this.base = base;
+            this.limit = buffer.limit();
+        }
+
+        boolean hasMore() {
+            return position < limit;
+        }
+
+        /** Offset of the next byte within the file. */
+        long position() {
+            return base + position;
+        }
+
+        int peek() {
+            return buffer.get(position);
+        }
+
+        /** Skips the line if it is blank or starts with marker, and reports whether it did. */
+        boolean skipBlankOrComment(char marker) {
+            skipSpaces();
+            if (position == limit) {
+                return true;
+            }
+            byte b = buffer.get(position);
+            if (b == '\n' || b == marker) {
+                skipLine();
+                return true;
+            }
+            return false;
+        }
+
+        /** Whether only separators remain before the end of the line. */
+        boolean atLineEnd() {
+            skipSpaces();
+            return position == limit || buffer.get(position) == '\n';
+        }
+
+        void skipByte(char b) {
+            skipSpaces();
+            if (position < limit && buffer.get(position) == b) {
+                position++;
+            }
+        }
+
+        void skipWord() {
+            skipSpaces();
+            while (position < limit && !isSeparator(buffer.get(position))) {
+                position++;
+            }
+        }
+
+        int nextInt() {
+            skipSpaces();
+            long value = 0;
+            int start = position;
+            while (position < limit) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE) {
+                    throw error("Number too large");
+                }
+                position++;
+            }
+            if (position == start || (position < limit && !isSeparator(buffer.get(position)))) {
+                throw error("Expected a non-negative integer");
+            }
+            return (int) value;
+        }
+
+        /** Reads an edge weight, which the graph requires to be positive. */
+        int nextWeight() {
+            int weight = nextInt();
+            if (weight <= 0) {
+                throw error("Edge weight must be positive, got " + weight);
+            }
+            return weight;
+        }
+
+        void skipLine() {
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+            if (position < limit) {
+                position++;
+            }
+        }
+
+        UncheckedIOException error(String message) {
+            return new UncheckedIOException(new IOException(message + " at byte " + position()));
+        }
+
+        private void skipSpaces() {
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    break;
+                }
+                position++;
+            }
+        }
+
+        private static boolean isSeparator(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package routing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A graph with optional node coordinates and landmark tables, saved in a binary file
+ * that loads without parsing.
+ *
+ * Layout (little-endian, version {@value #VERSION}): a 16-byte header holding the
+ * magic number, the format version, the section count and a reserved word, followed
+ * by a table of sections, each described by a tag, a reserved word, a byte offset
+ * and a byte length. Sections start on 8-byte boundaries. The graph section holds
+ * the node and arc counts followed by the offsets, targets and weights arrays of the
+ * {@link CsrGraph}; the coordinates section holds the x then y values of every
+ * node; the landmarks section holds the landmark count, the landmark nodes and the
+ * node-major distance table of a {@link LandmarkIndex}. Readers skip sections they
+ * do not know, so sections can be added without a new version.
+ *
+ * Files are read through {@link FileChannel#map}, and each array is filled with one
+ * bulk copy from the mapped pages. Reading a snapshot costs about as much as copying
+ * its bytes, and a file that is already in the page cache, e.g. because another
+ * process read it, is not read from disk again.
+ */
+public final class GraphSnapshot {
+
+    /** File extension used for snapshots. */
+    public static final String EXTENSION = ".csrg";
+
+    static final int MAGIC = 0x47525343; // "CSRG" in little-endian byte order
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 16;
+    private static final int SECTION_ENTRY_BYTES = 24;
+    private static final int TAG_GRAPH = 1;
+    private static final int TAG_COORDINATES = 2;
+    private static final int TAG_LANDMARKS = 3;
+
+    /** Largest region mapped at once; longer arrays are copied in several windows. */
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    private final CsrGraph graph;
+    private final double[] x;
+    private final double[] y;
+    private final LandmarkIndex landmarks;
+
+    public GraphSnapshot(CsrGraph graph) {
+        this(graph, null, null, null);
+    }
+
+    private GraphSnapshot(CsrGraph graph, double[] x, double[] y, LandmarkIndex landmarks) {
+        this.graph = graph;
+        this.x = x;
+        this.y = y;
+        this.landmarks = landmarks;
+    }
+
+    /** Returns a snapshot that also stores a position for every node. */
+    public GraphSnapshot withCoordinates(double[] x, double[] y) {
+        if (x.length != graph.nodeCount || y.length != graph.nodeCount) {
+            throw new IllegalArgumentException("Expected " + graph.nodeCount + " coordinates, got "
+                    + x.length + " and " + y.length);
+        }
+        return new GraphSnapshot(graph, x, y, landmarks);
+    }
+
+    /** Returns a snapshot that also stores the landmark tables of index. */
+    public GraphSnapshot withLandmarks(LandmarkIndex index) {
+        if (index.nodeCount() != graph.nodeCount) {
+            throw new IllegalArgumentException("Landmark index covers " + index.nodeCount()
+                    + " nodes, graph has " + graph.nodeCount);
+        }
+        return new GraphSnapshot(graph, x, y, index);
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    public boolean hasCoordinates() {
+        return x != null;
+    }
+
+    public double x(int node) {
+        return x[node];
+    }
+
+    public double y(int node) {
+        return y[node];
+    }
+
+    /** Stored landmark index, or null. */
+    public LandmarkIndex landmarks() {
+        return landmarks;
+    }
+
+    /** Writes the snapshot to file, replacing it. */
+    public void write(Path file) throws IOException {
+        int n = graph.nodeCount;
+        int[] tags = new int[1 + (x != null ? 1 : 0) + (landmarks != null ? 1 : 0)];
+        int sectionCount = 0;
+        tags[sectionCount++] = TAG_GRAPH;
+        if (x != null) {
+            tags[sectionCount++] = TAG_COORDINATES;
+        }
+        if (landmarks != null) {
+            tags[sectionCount++] = TAG_LANDMARKS;
+        }
+
+        long[] offsets = new long[sectionCount];
+        long[] lengths = new long[sectionCount];
+        long position = align(HEADER_BYTES + (long) SECTION_ENTRY_BYTES * sectionCount);
+        for (int i = 0; i < sectionCount; i++) {
+            switch (tags[i]) {
+                case TAG_GRAPH:
+                    lengths[i] = 8 + 4L * (n + 1) + 8L * graph.targets.length;
+                    break;
+                case TAG_COORDINATES:
+                    lengths[i] = 16L * n;
+                    break;
+                default:
+                    lengths[i] = 4 + 4L * landmarks.landmarkCount() + 4L * landmarks.distanceTable().length;
+            }
+            offsets[i] = position;
+            position = align(position + lengths[i]);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + SECTION_ENTRY_BYTES * sectionCount)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(sectionCount).putInt(0);
+            for (int i = 0; i < sectionCount; i++) {
+                header.putInt(tags[i]).putInt(0).putLong(offsets[i]).putLong(lengths[i]);
+            }
+            header.flip();
+            channel.write(header, 0);
+
+            for (int i = 0; i < sectionCount; i++) {
+                long at = offsets[i];
+                switch (tags[i]) {
+                    case TAG_GRAPH:
+                        at = writeInts(channel, at, new int[] {n, graph.targets.length});
+                        at = writeInts(channel, at, graph.offsets);
+                        at = writeInts(channel, at, graph.targets);
+                        writeInts(channel, at, graph.weights);
+                        break;
+                    case TAG_COORDINATES:
+                        at = writeDoubles(channel, at, x);
+                        writeDoubles(channel, at, y);
+                        break;
+                    default:
+                        int[] chosen = landmarks.landmarks();
+                        at = writeInts(channel, at, new int[] {chosen.length});
+                        at = writeInts(channel, at, chosen);
+                        writeInts(channel, at, landmarks.distanceTable());
+                }
+            }
+            channel.truncate(position);
+        }
+    }
+
+    /** Reads a snapshot written by {@link #write}. */
+    public static GraphSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException(file + " is too short to be a graph snapshot");
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a graph snapshot");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + " has snapshot version " + version + ", expected " + VERSION);
+            }
+            int sectionCount = header.getInt();
+            if (sectionCount < 0 || HEADER_BYTES + (long) SECTION_ENTRY_BYTES * sectionCount > size) {
+                throw new IOException(file + " has a damaged section table");
+            }
+            ByteBuffer table = map(channel, HEADER_BYTES, SECTION_ENTRY_BYTES * sectionCount);
+
+            CsrGraph graph = null;
+            double[] x = null;
+            double[] y = null;
+            int[] landmarkNodes = null;
+            int[] landmarkDistances = null;
+            for (int i = 0; i < sectionCount; i++) {
+                int tag = table.getInt();
+                table.getInt();
+                long offset = table.getLong();
+                long length = table.getLong();
+                if (offset < 0 || length < 0 || offset + length > size) {
+                    throw new IOException(file + ": section " + tag + " lies outside the file");
+                }
+                switch (tag) {
+                    case TAG_GRAPH: {
+                        int[] counts = readInts(channel, offset, 2);
+                        int n = counts[0];
+                        int arcs = counts[1];
+                        if (n < 0 || arcs < 0 || 8 + 4L * (n + 1) + 8L * arcs != length) {
+                            throw new IOException(file + ": graph section does not match its counts");
+                        }
+                        long at = offset + 8;
+                        int[] offsets = readInts(channel, at, n + 1);
+                        at += 4L * (n + 1);
+                        int[] targets = readInts(channel, at, arcs);
+                        at += 4L * arcs;
+                        int[] weights = readInts(channel, at, arcs);
+                        try {
+                            graph = CsrGraph.fromArrays(n, offsets, targets, weights);
+                        } catch (IllegalArgumentException e) {
+                            throw new IOException(file + ": " + e.getMessage(), e);
+                        }
+                        break;
+                    }
+                    case TAG_COORDINATES: {
+                        int n = (int) (length / 16);
+                        x = readDoubles(channel, offset, n);
+                        y = readDoubles(channel, offset + 8L * n, n);
+                        break;
+                    }
+                    case TAG_LANDMARKS: {
+                        int k = readInts(channel, offset, 1)[0];
+                        long entries = (length - 4 - 4L * k) / 4;
+                        if (k < 0 || entries < 0 || entries > Integer.MAX_VALUE) {
+                            throw new IOException(file + ": damaged landmark section");
+                        }
+                        landmarkNodes = readInts(channel, offset + 4, k);
+                        landmarkDistances = readInts(channel, offset + 4 + 4L * k, (int) entries);
+                        break;
+                    }
+                    default:
+                        // Written by a newer version; not needed to answer queries
+                        break;
+                }
+            }
+            if (graph == null) {
+                throw new IOException(file + " has no graph section");
+            }
+
+            GraphSnapshot snapshot = new GraphSnapshot(graph);
+            try {
+                if (x != null) {
+                    snapshot = snapshot.withCoordinates(x, y);
+                }
+                if (landmarkNodes != null) {
+                    snapshot = snapshot.withLandmarks(
+                            LandmarkIndex.fromArrays(graph.nodeCount, landmarkNodes, landmarkDistances));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException(file + ": " + e.getMessage(), e);
+            }
+            return snapshot;
+        }
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+        int[] values = new int[count];
+        int done = 0;
+        while (done < count) {
+            int chunk = Math.min(count - done, WINDOW_BYTES / 4);
+            map(channel, position + 4L * done, 4L * chunk).asIntBuffer().get(values, done, chunk);
+            done += chunk;
+        }
+        return values;
+    }
+
+    private static double[] readDoubles(FileChannel channel, long position, int count) throws IOException {
+        double[] values = new double[count];
+        int done = 0;
+        while (done < count) {
+            int chunk = Math.min(count - done, WINDOW_BYTES / 8);
+            map(channel, position + 8L * done, 8L * chunk).asDoubleBuffer().get(values, done, chunk);
+            done += chunk;
+        }
+        return values;
+    }
+
+    /** Writes values at position and returns the position after them. */
+    private static long writeInts(FileChannel channel, long position, int[] values) throws IOException {
+        int done = 0;
+        while (done < values.length) {
+            int chunk = Math.min(values.length - done, WINDOW_BYTES / 4);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position + 4L * done, 4L * chunk);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(values, done, chunk);
+            done += chunk;
+        }
+        return position + 4L * values.length;
+    }
+
+    private static long writeDoubles(FileChannel channel, long position, double[] values) throws IOException {
+        int done = 0;
+        while (done < values.length) {
+            int chunk = Math.min(values.length - done, WINDOW_BYTES / 8);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position + 8L * done, 8L * chunk);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(values, done, chunk);
+            done += chunk;
+        }
+        return position + 8L * values.length;
+    }
+}
@@ -0,0 +1,131 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Distribution of non-negative long values in log-linear buckets.
+ *
+ * Values below 16 get a bucket each; above that every power of two is split into
+ * eight equal buckets, so a percentile is reported within 12.5% of the recorded
+ * value while the whole range of long fits in under 500 counters. Recording is a
+ * few shifts and an array increment and never allocates.
+ *
+ * A histogram is not thread-safe; {@link QueryStatistics} guards its own.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private long last;
+
+    public Histogram() {
+    }
+
+    private Histogram(Histogram other) {
+        System.arraycopy(other.buckets, 0, buckets, 0, BUCKET_COUNT);
+        count = other.count;
+        sum = other.sum;
+        min = other.min;
+        max = other.max;
+        last = other.last;
+    }
+
+    /** Records value, which must not be negative. */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram values must not be negative: " + value);
+        }
+        buckets[bucketOf(value)]++;
+        count++;
+        sum += value;
+        last = value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /** Smallest recorded value, or 0 if nothing was recorded. */
+    public long min() {
+        return count > 0 ? min : 0;
+    }
+
+    /** Largest recorded value, or 0 if nothing was recorded. */
+    public long max() {
+        return count > 0 ? max : 0;
+    }
+
+    /** Most recently recorded value, or 0 if nothing was recorded. */
+    public long last() {
+        return last;
+    }
+
+    public double mean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * Returns the value below which the given fraction (0 to 1) of recorded values fall,
+     * rounded up to the top of its bucket and capped at {@link #max()}.
+     */
+    public long percentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Percentile fraction must be within [0, 1]: " + fraction);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, upperBound(bucket)));
+            }
+        }
+        return max;
+    }
+
+    public void clear() {
+        Arrays.fill(buckets, 0L);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+        last = 0;
+    }
+
+    public Histogram copy() {
+        return new Histogram(this);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+        return lower + (width - 1);
+    }
+}
@@ -0,0 +1,163 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of node indices keyed by int priorities, with decrease-key.
+ *
+ * Each node is in the heap at most once and its position is tracked in an index
+ * array, so a priority update moves the existing entry instead of pushing a
+ * duplicate. The heap never holds more than the node count it was created for and
+ * allocates nothing after construction.
+ *
+ * The heap counts the inserts, decreases and removals since the last
+ * {@link #clear()} and the largest size it reached, for {@link QueryMetrics}.
+ */
+public final class IndexedDaryHeap {
+
+    private static final int ARITY = 4;
+
+    private final int[] heap;
+    private final int[] keys;
+    private final int[] position;
+    private int size;
+    private int pushes;
+    private int decreases;
+    private int pops;
+    private int peakSize;
+
+    public IndexedDaryHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.keys = new int[capacity];
+        this.position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int node) {
+        return position[node] >= 0;
+    }
+
+    /** Priority of a node currently in the heap. */
+    public int key(int node) {
+        return keys[node];
+    }
+
+    /** Priority of the minimum entry; the heap must not be empty. */
+    public int minKey() {
+        return keys[heap[0]];
+    }
+
+    /** Removes every entry, in time proportional to the current size, and resets the counters. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+        pushes = 0;
+        decreases = 0;
+        pops = 0;
+        peakSize = 0;
+    }
+
+    /** Number of nodes inserted since the last {@link #clear()}. */
+    public int pushes() {
+        return pushes;
+    }
+
+    /** Number of priority decreases of queued nodes since the last {@link #clear()}. */
+    public int decreases() {
+        return decreases;
+    }
+
+    /** Number of {@link #pollMin()} calls since the last {@link #clear()}. */
+    public int pops() {
+        return pops;
+    }
+
+    /** Largest number of entries held at once since the last {@link #clear()}. */
+    public int peakSize() {
+        return peakSize;
+    }
+
+    /**
+     * Inserts node with the given priority, or lowers its priority if it is already
+     * queued with a higher one. Returns false if the node was queued with a priority
+     * that is not higher.
+     */
+    public boolean insertOrDecrease(int node, int key) {
+        int index = position[node];
+        if (index < 0) {
+            index = size++;
+            pushes++;
+            if (size > peakSize) {
+                peakSize = size;
+            }
+        } else if (key >= keys[node]) {
+            return false;
+        } else {
+            decreases++;
+        }
+        keys[node] = key;
+        siftUp(node, index);
+        return true;
+    }
+
+    /** Removes and returns the node with the smallest priority; the heap must not be empty. */
+    public int pollMin() {
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        pops++;
+        if (size > 0) {
+            siftDown(heap[size], 0);
+        }
+        return min;
+    }
+
+    private void siftUp(int node, int index) {
+        int key = keys[node];
+        while (index > 0) {
+            int parentIndex = (index - 1) / ARITY;
+            int parent = heap[parentIndex];
+            if (keys[parent] <= key) break;
+            heap[index] = parent;
+            position[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = node;
+        position[node] = index;
+    }
+
+    private void siftDown(int node, int index) {
+        int key = keys[node];
+        while (true) {
+            int firstChild = index * ARITY + 1;
+            if (firstChild >= size) break;
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int best = firstChild;
+            int bestKey = keys[heap[firstChild]];
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                int childKey = keys[heap[child]];
+                if (childKey < bestKey) {
+                    best = child;
+                    bestKey = childKey;
+                }
+            }
+            if (bestKey >= key) break;
+            int bestNode = heap[best];
+            heap[index] = bestNode;
+            position[bestNode] = index;
+            index = best;
+        }
+        heap[index] = node;
+        position[node] = index;
+    }
+}
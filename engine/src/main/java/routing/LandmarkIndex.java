@@ -0,0 +1,160 @@
+package routing;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Landmark distance tables for goal-directed (ALT) search.
+ *
+ * For every landmark L the index stores d(L, v) for all nodes v. By the triangle
+ * inequality |d(L, t) - d(L, v)| is a lower bound on d(v, t) in an undirected graph,
+ * and the maximum over all landmarks is the heuristic {@link AltSearch} uses.
+ * Distances are stored node-major, so the k entries for one node share a cache line.
+ *
+ * Landmarks are chosen by farthest-point selection: each new landmark is the node
+ * furthest from all landmarks chosen so far, which spreads them over the periphery
+ * of the graph where they give the tightest bounds. Nodes that no landmark can
+ * reach are picked first, so every component gets at least one landmark.
+ */
+public final class LandmarkIndex {
+
+    public static final int DEFAULT_LANDMARK_COUNT = 8;
+
+    private final int nodeCount;
+    private final int[] landmarks;
+    private final int[] distances;
+
+    private LandmarkIndex(int nodeCount, int[] landmarks, int[] distances) {
+        this.nodeCount = nodeCount;
+        this.landmarks = landmarks;
+        this.distances = distances;
+    }
+
+    /** Selects up to count landmarks by farthest-point selection and computes their tables. */
+    public static LandmarkIndex build(CsrGraph graph, int count) {
+        int n = graph.nodeCount;
+        int k = Math.min(count, n);
+        int[] landmarks = new int[k];
+        int[] distances = new int[n * k];
+        if (k == 0) {
+            return new LandmarkIndex(n, landmarks, distances);
+        }
+
+        ShortestPathEngine engine = new ShortestPathEngine(graph);
+        int[] nearest = new int[n];
+        Arrays.fill(nearest, ShortestPathEngine.UNREACHABLE);
+
+        // Seed the selection with the node furthest from node 0
+        engine.query(0, -1);
+        int next = farthest(engine, n);
+
+        for (int i = 0; i < k; i++) {
+            landmarks[i] = next;
+            engine.query(next, -1);
+            int best = -1;
+            long bestDistance = -1;
+            for (int v = 0; v < n; v++) {
+                int d = engine.distance(v);
+                distances[v * k + i] = d;
+                if (d < nearest[v]) {
+                    nearest[v] = d;
+                }
+                if (nearest[v] > bestDistance) {
+                    bestDistance = nearest[v];
+                    best = v;
+                }
+            }
+            next = best;
+        }
+        return new LandmarkIndex(n, landmarks, distances);
+    }
+
+    /**
+     * Recomputes the tables for an existing landmark set on an edited graph with the
+     * same nodes, skipping selection. Landmarks are processed in parallel.
+     */
+    public static LandmarkIndex rebuild(CsrGraph graph, int[] landmarks) {
+        int n = graph.nodeCount;
+        int k = landmarks.length;
+        int[] distances = new int[n * k];
+        IntStream.range(0, k).parallel().forEach(i -> {
+            ShortestPathEngine engine = new ShortestPathEngine(graph);
+            engine.query(landmarks[i], -1);
+            for (int v = 0; v < n; v++) {
+                distances[v * k + i] = engine.distance(v);
+            }
+        });
+        return new LandmarkIndex(n, landmarks.clone(), distances);
+    }
+
+    /** Wraps landmark tables read from a snapshot; distances holds nodeCount * landmarks.length entries. */
+    static LandmarkIndex fromArrays(int nodeCount, int[] landmarks, int[] distances) {
+        if (distances.length != (long) nodeCount * landmarks.length) {
+            throw new IllegalArgumentException("Expected " + (long) nodeCount * landmarks.length
+                    + " landmark distances, got " + distances.length);
+        }
+        for (int landmark : landmarks) {
+            if (landmark < 0 || landmark >= nodeCount) {
+                throw new IllegalArgumentException("Landmark " + landmark + " out of range [0, " + nodeCount + ")");
+            }
+        }
+        return new LandmarkIndex(nodeCount, landmarks, distances);
+    }
+
+    /** The node-major distance table itself, for writing snapshots. */
+    int[] distanceTable() {
+        return distances;
+    }
+
+    private static int farthest(ShortestPathEngine engine, int n) {
+        int best = 0;
+        int bestDistance = -1;
+        for (int v = 0; v < n; v++) {
+            int d = engine.distance(v);
+            if (d != ShortestPathEngine.UNREACHABLE && d > bestDistance) {
+                bestDistance = d;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int landmarkCount() {
+        return landmarks.length;
+    }
+
+    public int landmark(int index) {
+        return landmarks[index];
+    }
+
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    /** Distance from the given landmark to node, or {@link ShortestPathEngine#UNREACHABLE}. */
+    public int distance(int landmarkIndex, int node) {
+        return distances[node * landmarks.length + landmarkIndex];
+    }
+
+    /** Lower bound on the distance between node and target; 0 when no landmark gives a bound. */
+    public int lowerBound(int node, int target) {
+        final int k = landmarks.length;
+        final int nodeBase = node * k;
+        final int targetBase = target * k;
+        int bound = 0;
+        for (int i = 0; i < k; i++) {
+            int dv = distances[nodeBase + i];
+            int dt = distances[targetBase + i];
+            if (dv == ShortestPathEngine.UNREACHABLE || dt == ShortestPathEngine.UNREACHABLE) continue;
+            int difference = dv > dt ? dv - dt : dt - dv;
+            if (difference > bound) {
+                bound = difference;
+            }
+        }
+        return bound;
+    }
+}
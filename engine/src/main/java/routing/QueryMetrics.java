@@ -0,0 +1,171 @@
+package routing;
+
+/**
+ * Work done by one search: nodes settled, arcs scanned, labels improved, how the
+ * priority queue was used, and how long the query took.
+ *
+ * Searches count into plain int fields as they run, which costs next to nothing, and
+ * only build a QueryMetrics when asked. A {@link RoutingEngine} attaches one to every
+ * {@link Route} it returns while {@link QueryStatistics} are installed or a flight
+ * recording captures route queries; otherwise routes carry {@link #NONE} and no
+ * clock is read.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class QueryMetrics {
+
+    /** The counters {@link QueryStatistics} keeps a histogram for. */
+    public enum Counter {
+        SETTLED_NODES("Settled nodes"),
+        SCANNED_ARCS("Scanned arcs"),
+        RELAXATIONS("Relaxations"),
+        HEAP_PUSHES("Heap pushes"),
+        HEAP_DECREASES("Heap decreases"),
+        HEAP_POPS("Heap pops"),
+        PEAK_FRONTIER("Peak frontier"),
+        TIME_MICROS("Time (us)");
+
+        private final String displayName;
+
+        Counter(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /** Reported by {@link #elapsedNanos()} for queries that were not timed. */
+    public static final long NOT_TIMED = -1;
+
+    /** Metrics of a route that was not measured. */
+    public static final QueryMetrics NONE = new QueryMetrics(0, 0, 0, 0, 0, 0, 0, NOT_TIMED);
+
+    private final int settledNodes;
+    private final int scannedArcs;
+    private final int relaxations;
+    private final int heapPushes;
+    private final int heapDecreases;
+    private final int heapPops;
+    private final int peakFrontier;
+    private final long elapsedNanos;
+
+    QueryMetrics(int settledNodes, int scannedArcs, int relaxations, int heapPushes,
+                 int heapDecreases, int heapPops, int peakFrontier, long elapsedNanos) {
+        this.settledNodes = settledNodes;
+        this.scannedArcs = scannedArcs;
+        this.relaxations = relaxations;
+        this.heapPushes = heapPushes;
+        this.heapDecreases = heapDecreases;
+        this.heapPops = heapPops;
+        this.peakFrontier = peakFrontier;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Metrics of a query answered from a precomputed table, which does no search work. */
+    static QueryMetrics lookup(long elapsedNanos) {
+        return new QueryMetrics(0, 0, 0, 0, 0, 0, 0, elapsedNanos);
+    }
+
+    /** Metrics of a search that used one priority queue. */
+    static QueryMetrics of(int settledNodes, int scannedArcs, int relaxations, IndexedDaryHeap heap, long elapsedNanos) {
+        return new QueryMetrics(settledNodes, scannedArcs, relaxations, heap.pushes(), heap.decreases(),
+                heap.pops(), heap.peakSize(), elapsedNanos);
+    }
+
+    /**
+     * Metrics of a search with a forward and a backward queue. The peak frontier is the
+     * sum of the two peaks, which bounds the largest combined frontier from above.
+     */
+    static QueryMetrics of(int settledNodes, int scannedArcs, int relaxations,
+                           IndexedDaryHeap forward, IndexedDaryHeap backward, long elapsedNanos) {
+        return new QueryMetrics(settledNodes, scannedArcs, relaxations,
+                forward.pushes() + backward.pushes(),
+                forward.decreases() + backward.decreases(),
+                forward.pops() + backward.pops(),
+                forward.peakSize() + backward.peakSize(),
+                elapsedNanos);
+    }
+
+    /** Number of nodes the search finished with (removed from its queue, or visited by a traversal). */
+    public int settledNodes() {
+        return settledNodes;
+    }
+
+    /** Number of arcs examined from settled nodes. */
+    public int scannedArcs() {
+        return scannedArcs;
+    }
+
+    /** Number of scanned arcs that improved the tentative distance of their head. */
+    public int relaxations() {
+        return relaxations;
+    }
+
+    public int heapPushes() {
+        return heapPushes;
+    }
+
+    public int heapDecreases() {
+        return heapDecreases;
+    }
+
+    public int heapPops() {
+        return heapPops;
+    }
+
+    /** Largest queue size the search reached; for a depth-first traversal, its deepest stack. */
+    public int peakFrontier() {
+        return peakFrontier;
+    }
+
+    /** Wall time of the query in nanoseconds, or {@link #NOT_TIMED}. */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isTimed() {
+        return elapsedNanos != NOT_TIMED;
+    }
+
+    /** Value of counter, or -1 for {@link Counter#TIME_MICROS} when the query was not timed. */
+    public long get(Counter counter) {
+        switch (counter) {
+            case SETTLED_NODES:
+                return settledNodes;
+            case SCANNED_ARCS:
+                return scannedArcs;
+            case RELAXATIONS:
+                return relaxations;
+            case HEAP_PUSHES:
+                return heapPushes;
+            case HEAP_DECREASES:
+                return heapDecreases;
+            case HEAP_POPS:
+                return heapPops;
+            case PEAK_FRONTIER:
+                return peakFrontier;
+            case TIME_MICROS:
+            default:
+                return isTimed() ? elapsedNanos / 1_000 : -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append("settled=").append(settledNodes)
+                .append(", scanned=").append(scannedArcs)
+                .append(", relaxed=").append(relaxations)
+                .append(", pushes=").append(heapPushes)
+                .append(", decreases=").append(heapDecreases)
+                .append(", pops=").append(heapPops)
+                .append(", peakFrontier=").append(peakFrontier);
+        if (isTimed()) {
+            builder.append(", time=").append(String.format("%.3f ms", elapsedNanos / 1e6));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package routing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Histograms of {@link QueryMetrics} across queries, one set per kind of query.
+ *
+ * A kind is a free-form label; {@link RoutingEngine} records under the display name
+ * of the algorithm that answered the query, and callers running searches of their own
+ * can add more. Every {@link QueryMetrics.Counter} gets a {@link Histogram} per kind.
+ * Untimed metrics leave the time histogram alone.
+ *
+ * Statistics are thread-safe. Recording takes a lock and does no allocation once a
+ * kind has been seen, so one instance can collect from every thread of an engine.
+ */
+public final class QueryStatistics {
+
+    private static final QueryMetrics.Counter[] COUNTERS = QueryMetrics.Counter.values();
+
+    private final Map<String, Histogram[]> histograms = new LinkedHashMap<>();
+    private volatile Runnable recordListener;
+
+    /** Adds metrics to the histograms of kind. */
+    public void record(String kind, QueryMetrics metrics) {
+        synchronized (histograms) {
+            Histogram[] set = histograms.get(kind);
+            if (set == null) {
+                set = new Histogram[COUNTERS.length];
+                for (int i = 0; i < set.length; i++) {
+                    set[i] = new Histogram();
+                }
+                histograms.put(kind, set);
+            }
+            for (QueryMetrics.Counter counter : COUNTERS) {
+                long value = metrics.get(counter);
+                if (value >= 0) {
+                    set[counter.ordinal()].record(value);
+                }
+            }
+        }
+        Runnable listener = recordListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Sets a callback run after every {@link #record}, on the recording thread, or null
+     * for none.
+     */
+    public void setRecordListener(Runnable listener) {
+        this.recordListener = listener;
+    }
+
+    /** Kinds recorded so far, in the order they were first seen. */
+    public List<String> kinds() {
+        synchronized (histograms) {
+            return new ArrayList<>(histograms.keySet());
+        }
+    }
+
+    /** Number of queries recorded for kind. */
+    public long count(String kind) {
+        synchronized (histograms) {
+            Histogram[] set = histograms.get(kind);
+            return set != null ? set[QueryMetrics.Counter.SETTLED_NODES.ordinal()].count() : 0;
+        }
+    }
+
+    /** Returns a copy of the histogram of counter for kind, empty if kind was never recorded. */
+    public Histogram histogram(String kind, QueryMetrics.Counter counter) {
+        synchronized (histograms) {
+            Histogram[] set = histograms.get(kind);
+            return set != null ? set[counter.ordinal()].copy() : new Histogram();
+        }
+    }
+
+    /** Discards everything recorded so far. */
+    public void clear() {
+        synchronized (histograms) {
+            histograms.clear();
+        }
+    }
+}
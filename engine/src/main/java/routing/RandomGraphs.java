@@ -0,0 +1,411 @@
+package routing;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Seeded random graph generators that write straight into a {@link CsrGraph}.
+ *
+ * Besides uniform random graphs there are generators for the topologies routing
+ * actually runs on: perturbed grids resembling road networks, random geometric
+ * graphs, Barabasi-Albert scale-free graphs and Watts-Strogatz small-world graphs.
+ * {@link Topology} selects one of them from a single density parameter. No
+ * generator materialises an adjacency matrix; edges are emitted in chunks and
+ * packed once, so all of them scale to millions of edges.
+ *
+ * {@link #gnp} draws an Erdos-Renyi G(n, p) graph with the geometric skipping method
+ * of Batagelj and Brandes. Instead of flipping a coin for each of the n(n - 1) / 2
+ * node pairs, it draws the gap to the next selected pair from a geometric
+ * distribution. The cost is O(n + m) rather than O(n^2), so sparse graphs with
+ * millions of nodes are cheap.
+ *
+ * The pairs are split into row ranges of roughly equal size, which are generated in
+ * parallel. Each range draws from its own {@link SplittableRandom}, split off the
+ * seeded root in range order. The ranges depend only on n, so a seed yields the same
+ * graph whatever the number of cores.
+ */
+public final class RandomGraphs {
+
+    /** Graph families that can be generated from a node count and a density. */
+    public enum Topology {
+        UNIFORM("Uniform random (G(n,p))"),
+        GRID("Road-like grid"),
+        GEOMETRIC("Random geometric"),
+        SCALE_FREE("Scale-free (Barabasi-Albert)"),
+        SMALL_WORLD("Small world (Watts-Strogatz)");
+
+        private final String displayName;
+
+        Topology(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * Generates a graph of this family with n nodes. density is the G(n, p) edge
+         * probability the graph should roughly match in average degree, (n - 1) * density.
+         * Grids have a fixed degree, so for GRID it is instead the fraction of lattice
+         * edges that are kept.
+         */
+        public CsrGraph generate(int n, double density, int maxWeight, long seed) {
+            double degree = Math.max(0, density) * Math.max(n - 1, 0);
+            switch (this) {
+                case GRID:
+                    return grid(n, Math.max(1, (int) Math.ceil(Math.sqrt(n))), Math.min(density, 1.0), maxWeight, seed);
+                case GEOMETRIC:
+                    return geometric(n, Math.sqrt(Math.max(density, 0) / Math.PI), maxWeight, seed);
+                case SCALE_FREE:
+                    return barabasiAlbert(n, (int) Math.max(1, Math.round(degree / 2)), maxWeight, seed);
+                case SMALL_WORLD:
+                    return wattsStrogatz(n, 2 * (int) Math.max(1, Math.round(degree / 2)),
+                            DEFAULT_REWIRING, maxWeight, seed);
+                case UNIFORM:
+                default:
+                    return gnp(n, density, maxWeight, seed);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /** Rewiring probability {@link Topology#SMALL_WORLD} uses. */
+    public static final double DEFAULT_REWIRING = 0.1;
+
+    // Nodes per parallel range for the generators that work node by node
+    private static final int NODES_PER_RANGE = 1 << 16;
+
+    // Pairs per parallel range; small graphs are generated as a single range
+    private static final long PAIRS_PER_RANGE = 1L << 22;
+
+    // Caps a skip so it cannot overflow; any gap this large already runs past the last row
+    private static final double MAX_GAP = 1L << 62;
+
+    private RandomGraphs() {
+    }
+
+    /**
+     * Returns a G(n, p) graph where each pair of distinct nodes is joined with probability
+     * p, with weights drawn uniformly from [1, maxWeight].
+     */
+    public static CsrGraph gnp(int n, double p, int maxWeight, long seed) {
+        checkArguments(n, maxWeight);
+        if (!(p >= 0)) {
+            throw new IllegalArgumentException("Edge probability must not be negative: " + p);
+        }
+
+        long pairs = (long) n * (n - 1) / 2;
+        int[] rowStarts = splitRows(n, pairs);
+        int ranges = rowStarts.length - 1;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[ranges];
+        for (int i = 0; i < ranges; i++) {
+            randoms[i] = root.split();
+        }
+
+        EdgeChunk[] chunks = new EdgeChunk[ranges];
+        IntStream.range(0, ranges).parallel().forEach(i ->
+                chunks[i] = generateRange(rowStarts[i], rowStarts[i + 1], Math.min(p, 1.0), maxWeight, randoms[i]));
+        return assemble(n, chunks);
+    }
+
+    /**
+     * Returns a road-like grid: node i sits at column i % width and row i / width and
+     * is joined to its right and lower neighbours. Each lattice edge is kept with
+     * probability keep, which breaks up the regular structure the way one-way streets and
+     * dead ends do. Weights are drawn uniformly from [1, maxWeight].
+     */
+    public static CsrGraph grid(int n, int width, double keep, int maxWeight, long seed) {
+        checkArguments(n, maxWeight);
+        if (width < 1) {
+            throw new IllegalArgumentException("Grid width must be at least 1: " + width);
+        }
+        return byNodeRanges(n, seed, (start, end, random) -> {
+            EdgeChunk chunk = new EdgeChunk();
+            for (int i = start; i < end; i++) {
+                if ((i + 1) % width != 0 && i + 1 < n && random.nextDouble() < keep) {
+                    chunk.add(i, i + 1, 1 + random.nextInt(maxWeight));
+                }
+                if (i + width < n && random.nextDouble() < keep) {
+                    chunk.add(i, i + width, 1 + random.nextInt(maxWeight));
+                }
+            }
+            return chunk;
+        });
+    }
+
+    /**
+     * Returns a random geometric graph: n points placed uniformly in the unit square, with
+     * an edge between every two points at most radius apart. Weights grow with the
+     * Euclidean length, from 1 for coincident points to maxWeight at distance radius.
+     * Points are bucketed into cells of side at least radius, so only neighbouring cells
+     * are compared.
+     */
+    public static CsrGraph geometric(int n, double radius, int maxWeight, long seed) {
+        checkArguments(n, maxWeight);
+        if (!(radius >= 0)) {
+            throw new IllegalArgumentException("Radius must not be negative: " + radius);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+
+        // Counting sort of the points into cells
+        int cells = (int) Math.max(1, Math.min(radius > 0 ? Math.floor(1 / radius) : 1, Math.ceil(Math.sqrt(n))));
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            int cx = Math.min((int) (x[i] * cells), cells - 1);
+            int cy = Math.min((int) (y[i] * cells), cells - 1);
+            cellOf[i] = cy * cells + cx;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] fill = Arrays.copyOf(cellStart, cells * cells);
+        int[] members = new int[n];
+        for (int i = 0; i < n; i++) {
+            members[fill[cellOf[i]]++] = i;
+        }
+
+        double radiusSquared = radius * radius;
+        return byNodeRanges(n, seed, (start, end, unused) -> {
+            EdgeChunk chunk = new EdgeChunk();
+            for (int i = start; i < end; i++) {
+                int cx = cellOf[i] % cells;
+                int cy = cellOf[i] / cells;
+                for (int ny = Math.max(cy - 1, 0); ny <= Math.min(cy + 1, cells - 1); ny++) {
+                    for (int nx = Math.max(cx - 1, 0); nx <= Math.min(cx + 1, cells - 1); nx++) {
+                        int cell = ny * cells + nx;
+                        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                            int j = members[k];
+                            if (j <= i) continue; // Each pair is emitted once, by its lower index
+                            double dx = x[i] - x[j];
+                            double dy = y[i] - y[j];
+                            double squared = dx * dx + dy * dy;
+                            if (squared <= radiusSquared) {
+                                double length = radius > 0 ? Math.sqrt(squared) / radius : 0;
+                                chunk.add(i, j, 1 + (int) (length * (maxWeight - 1)));
+                            }
+                        }
+                    }
+                }
+            }
+            return chunk;
+        });
+    }
+
+    /**
+     * Returns a Barabasi-Albert scale-free graph. It starts from a clique of m + 1 nodes,
+     * and every further node attaches to m distinct existing nodes chosen with
+     * probability proportional to their degree, giving a power-law degree distribution
+     * with a few large hubs. Sampling draws from the list of edge endpoints, which is
+     * inherently sequential, so this generator runs on one thread in O(n * m).
+     */
+    public static CsrGraph barabasiAlbert(int n, int m, int maxWeight, long seed) {
+        checkArguments(n, maxWeight);
+        if (m < 1) {
+            throw new IllegalArgumentException("Edges per node must be at least 1: " + m);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int core = Math.min(n, m + 1);
+        long endpointCount = (long) core * (core - 1) + 2L * m * Math.max(n - core, 0);
+        if (endpointCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Barabasi-Albert graph with n=" + n + ", m=" + m + " is too large");
+        }
+        int[] endpoints = new int[(int) endpointCount];
+        int size = 0;
+        EdgeChunk chunk = new EdgeChunk();
+
+        for (int u = 0; u < core; u++) {
+            for (int v = u + 1; v < core; v++) {
+                chunk.add(u, v, 1 + random.nextInt(maxWeight));
+                endpoints[size++] = u;
+                endpoints[size++] = v;
+            }
+        }
+
+        int[] chosen = new int[m];
+        for (int u = core; u < n; u++) {
+            int count = 0;
+            while (count < m) {
+                int v = endpoints[random.nextInt(size)];
+                boolean duplicate = false;
+                for (int c = 0; c < count; c++) {
+                    if (chosen[c] == v) {
+                        duplicate = true;
+                        break;
+                    }
+                }
+                if (!duplicate) {
+                    chosen[count++] = v;
+                }
+            }
+            for (int c = 0; c < m; c++) {
+                chunk.add(u, chosen[c], 1 + random.nextInt(maxWeight));
+                endpoints[size++] = u;
+                endpoints[size++] = chosen[c];
+            }
+        }
+        return assemble(n, new EdgeChunk[] {chunk});
+    }
+
+    /**
+     * Returns a Watts-Strogatz small-world graph: a ring where every node is joined to
+     * its k / 2 nearest neighbours on each side, after which the far end of each edge is
+     * moved to a uniformly random node with probability beta. A few rewired edges act as
+     * shortcuts, so path lengths drop to those of a random graph while the graph stays
+     * locally clustered. A rewired edge that lands on an existing one is merged with it.
+     */
+    public static CsrGraph wattsStrogatz(int n, int k, double beta, int maxWeight, long seed) {
+        checkArguments(n, maxWeight);
+        if (k < 2 || k % 2 != 0) {
+            throw new IllegalArgumentException("Ring degree must be even and at least 2: " + k);
+        }
+        int half = Math.min(k / 2, (n - 1) / 2);
+        return byNodeRanges(n, seed, (start, end, random) -> {
+            EdgeChunk chunk = new EdgeChunk();
+            for (int u = start; u < end; u++) {
+                for (int j = 1; j <= half; j++) {
+                    int v = (u + j) % n;
+                    if (random.nextDouble() < beta) {
+                        do {
+                            v = random.nextInt(n);
+                        } while (v == u);
+                    }
+                    chunk.add(u, v, 1 + random.nextInt(maxWeight));
+                }
+            }
+            return chunk;
+        });
+    }
+
+    private static void checkArguments(int n, int maxWeight) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Node count must not be negative: " + n);
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Max weight must be at least 1: " + maxWeight);
+        }
+    }
+
+    /** Emits the edges of one node range with the given random source. */
+    private interface RangeGenerator {
+        EdgeChunk generate(int start, int end, SplittableRandom random);
+    }
+
+    /**
+     * Runs generator over fixed-size node ranges in parallel, each with a random split off
+     * the seeded root in range order, and packs the result.
+     */
+    private static CsrGraph byNodeRanges(int n, long seed, RangeGenerator generator) {
+        int ranges = Math.max(1, (n + NODES_PER_RANGE - 1) / NODES_PER_RANGE);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[ranges];
+        for (int i = 0; i < ranges; i++) {
+            randoms[i] = root.split();
+        }
+        EdgeChunk[] chunks = new EdgeChunk[ranges];
+        IntStream.range(0, ranges).parallel().forEach(i -> chunks[i] = generator.generate(
+                i * NODES_PER_RANGE, (int) Math.min((long) (i + 1) * NODES_PER_RANGE, n), randoms[i]));
+        return assemble(n, chunks);
+    }
+
+    /** Packs the chunks, in order, into a graph; duplicate edges keep their lowest weight. */
+    private static CsrGraph assemble(int n, EdgeChunk[] chunks) {
+        long edges = 0;
+        for (EdgeChunk chunk : chunks) {
+            edges += chunk.size;
+        }
+        if (edges > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Generated " + edges + " edges, too many for a CsrGraph");
+        }
+        CsrGraph.Builder builder = new CsrGraph.Builder(n, (int) edges);
+        for (EdgeChunk chunk : chunks) {
+            for (int e = 0; e < chunk.size; e++) {
+                long pair = chunk.pairs[e];
+                builder.addEdge((int) (pair >>> 32), (int) pair, chunk.weights[e]);
+            }
+        }
+        return builder.build();
+    }
+
+    /** Row boundaries such that every range of rows [start, end) covers about PAIRS_PER_RANGE pairs. */
+    private static int[] splitRows(int n, long pairs) {
+        int ranges = (int) Math.max(1, Math.min(n, (pairs + PAIRS_PER_RANGE - 1) / PAIRS_PER_RANGE));
+        int[] starts = new int[ranges + 1];
+        int row = 0;
+        long covered = 0;
+        for (int i = 1; i < ranges; i++) {
+            long target = pairs * i / ranges;
+            // Row v holds the pairs (v, w) with w < v
+            while (row < n && covered + row <= target) {
+                covered += row;
+                row++;
+            }
+            starts[i] = row;
+        }
+        starts[ranges] = n;
+        return starts;
+    }
+
+    /**
+     * Generates the selected pairs (v, w) with w < v for rows v in [start, end). Skipping
+     * is memoryless, so each range can start afresh at its first pair.
+     */
+    private static EdgeChunk generateRange(int start, int end, double p, int maxWeight, SplittableRandom random) {
+        EdgeChunk chunk = new EdgeChunk();
+        if (p <= 0 || start >= end) {
+            return chunk;
+        }
+        if (p >= 1) {
+            for (int v = start; v < end; v++) {
+                for (int w = 0; w < v; w++) {
+                    chunk.add(v, w, 1 + random.nextInt(maxWeight));
+                }
+            }
+            return chunk;
+        }
+
+        double logQ = Math.log(1.0 - p);
+        long v = start;
+        long w = -1;
+        while (v < end) {
+            // Gap to the next selected pair, geometrically distributed
+            double gap = Math.floor(Math.log(1.0 - random.nextDouble()) / logQ);
+            w += 1 + (long) Math.min(gap, MAX_GAP);
+            while (w >= v && v < end) {
+                w -= v;
+                v++;
+            }
+            if (v < end) {
+                chunk.add((int) v, (int) w, 1 + random.nextInt(maxWeight));
+            }
+        }
+        return chunk;
+    }
+
+    /** Growable list of generated edges for one row range. */
+    private static final class EdgeChunk {
+        long[] pairs = new long[16];
+        int[] weights = new int[16];
+        int size;
+
+        void add(int v, int w, int weight) {
+            if (size == pairs.length) {
+                pairs = Arrays.copyOf(pairs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            pairs[size] = ((long) v << 32) | w;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
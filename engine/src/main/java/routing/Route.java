@@ -0,0 +1,106 @@
+package routing;
+
+/**
+ * Result of a shortest-path query: the total distance and the nodes along the path.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class Route {
+
+    private static final int[] NO_NODES = new int[0];
+
+    private final int source;
+    private final int destination;
+    private final int distance;
+    private final int[] nodes;
+    private final int settledNodes;
+    private final QueryMetrics metrics;
+
+    private Route(int source, int destination, int distance, int[] nodes, int settledNodes, QueryMetrics metrics) {
+        this.source = source;
+        this.destination = destination;
+        this.distance = distance;
+        this.nodes = nodes;
+        this.settledNodes = settledNodes;
+        this.metrics = metrics;
+    }
+
+    /** Creates a route over the given nodes, which must run from source to destination. */
+    public static Route of(int distance, int[] nodes) {
+        return of(distance, nodes, 0);
+    }
+
+    /** Creates a route found by a search that settled the given number of nodes. */
+    public static Route of(int distance, int[] nodes, int settledNodes) {
+        return new Route(nodes[0], nodes[nodes.length - 1], distance, nodes, settledNodes, QueryMetrics.NONE);
+    }
+
+    public static Route unreachable(int source, int destination) {
+        return unreachable(source, destination, 0);
+    }
+
+    public static Route unreachable(int source, int destination, int settledNodes) {
+        return new Route(source, destination, ShortestPathEngine.UNREACHABLE, NO_NODES, settledNodes, QueryMetrics.NONE);
+    }
+
+    /** Returns this route carrying the metrics of the query that found it. */
+    public Route withMetrics(QueryMetrics metrics) {
+        return new Route(source, destination, distance, nodes, settledNodes, metrics);
+    }
+
+    public int source() {
+        return source;
+    }
+
+    public int destination() {
+        return destination;
+    }
+
+    public boolean isFound() {
+        return nodes.length > 0;
+    }
+
+    /** Total weight of the path, or {@link ShortestPathEngine#UNREACHABLE}. */
+    public int distance() {
+        return distance;
+    }
+
+    /** Number of nodes on the path, including both endpoints. */
+    public int length() {
+        return nodes.length;
+    }
+
+    public int node(int index) {
+        return nodes[index];
+    }
+
+    public int[] nodes() {
+        return nodes.clone();
+    }
+
+    /** Number of nodes the search settled to answer the query; 0 for table and hot-source tree lookups. */
+    public int settledNodes() {
+        return settledNodes;
+    }
+
+    /** Work done by the query that found the route, or {@link QueryMetrics#NONE} if it was not measured. */
+    public QueryMetrics metrics() {
+        return metrics;
+    }
+
+    /** Formats the path as "N0 -> N3 -> N7", the form the visualizer logs. */
+    public String formatPath() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < nodes.length; i++) {
+            if (i > 0) builder.append(" -> ");
+            builder.append('N').append(nodes[i]);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return isFound()
+                ? "Route[" + formatPath() + ", distance=" + distance + "]"
+                : "Route[N" + source + " -> N" + destination + " unreachable]";
+    }
+}
@@ -0,0 +1,191 @@
+package routing;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of shortest-path results keyed by source, destination and graph version.
+ *
+ * Entries are kept in access order and the least recently used one is evicted once
+ * the capacity is exceeded. Every topology edit bumps the version. An entry is only
+ * returned if it is stamped with the current version. Edits that can be reasoned
+ * about re-stamp the entries they cannot affect, so those entries survive:
+ * - Removing edge {u, v} only invalidates routes that use it.
+ * - Adding an edge of weight w only invalidates routes longer than w (any path
+ *   through the new edge costs at least w) and pairs that were unreachable.
+ * - Adding an isolated node invalidates nothing.
+ * Removing a node renumbers the graph, so it invalidates everything.
+ *
+ * Distances do not depend on the algorithm that found them, so one entry serves
+ * queries made with any {@link RoutingEngine.Algorithm}. All methods are synchronized.
+ */
+public final class RouteCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final class Entry {
+        final Route route;
+        long version;
+
+        Entry(Route route, long version) {
+            this.route = route;
+            this.version = version;
+        }
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Long, Entry> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public RouteCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RouteCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > RouteCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static long key(int source, int destination) {
+        return ((long) source << 32) | (destination & 0xffffffffL);
+    }
+
+    /** Returns the cached route from source to destination for the current version, or null. */
+    public synchronized Route get(int source, int destination) {
+        Long key = key(source, destination);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.version != version) {
+            entries.remove(key);
+            invalidations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.route;
+    }
+
+    /** Stores route under its source and destination for the current version. */
+    public synchronized void put(Route route) {
+        entries.put(key(route.source(), route.destination()), new Entry(route, version));
+    }
+
+    /** Current graph version; bumped by every edit. */
+    public synchronized long version() {
+        return version;
+    }
+
+    /** Registers the addition (or weight decrease) of edge {u, v} to weight. */
+    public synchronized void edgeAdded(int u, int v, int weight) {
+        long next = version + 1;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            Route route = entry.route;
+            if (entry.version != version || !route.isFound() || route.distance() > weight) {
+                iterator.remove();
+                invalidations++;
+            } else {
+                entry.version = next;
+            }
+        }
+        version = next;
+    }
+
+    /** Registers the removal (or weight increase) of edge {u, v}. */
+    public synchronized void edgeRemoved(int u, int v) {
+        long next = version + 1;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.version != version || uses(entry.route, u, v)) {
+                iterator.remove();
+                invalidations++;
+            } else {
+                entry.version = next;
+            }
+        }
+        version = next;
+    }
+
+    /** Registers a new isolated node; existing routes stay valid. */
+    public synchronized void nodeAdded() {
+        long next = version + 1;
+        for (Entry entry : entries.values()) {
+            if (entry.version == version) {
+                entry.version = next;
+            }
+        }
+        version = next;
+    }
+
+    /**
+     * Invalidates every entry in O(1) by bumping the version; stale entries are dropped
+     * when looked up or evicted. Used when nodes are removed or the graph is replaced.
+     */
+    public synchronized void invalidateAll() {
+        version++;
+    }
+
+    private static boolean uses(Route route, int u, int v) {
+        for (int i = 1; i < route.length(); i++) {
+            int a = route.node(i - 1);
+            int b = route.node(i);
+            if ((a == u && b == v) || (a == v && b == u)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /** Number of entries dropped because an edit could have changed them. */
+    public synchronized long invalidations() {
+        return invalidations;
+    }
+
+    /** Fraction of lookups answered from the cache, or 0 before the first lookup. */
+    public synchronized double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
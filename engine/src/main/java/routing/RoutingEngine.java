@@ -0,0 +1,538 @@
+package routing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Headless entry point for routing queries over an immutable {@link CsrGraph}.
+ *
+ * The engine holds no UI state and can be shared freely between threads: every
+ * thread that queries it gets its own search scratch buffers, which are reused for
+ * all of that thread's queries. Topology changes are modelled by building a new
+ * engine over the edited graph; {@link #withEditedEdges(CsrGraph)} carries reusable
+ * preprocessing over to it.
+ *
+ * An engine created with a hot-source limit keeps complete shortest-path trees for
+ * the sources it sees repeatedly and answers Dijkstra queries from them. After a
+ * single-edge edit, {@link #withEditedEdge(CsrGraph, int, int)} repairs those trees
+ * in place instead of discarding them. Counting a query takes a short lock; trees
+ * are built outside it and, once built, read under their own lock only, so one
+ * source's tree never holds up queries from other sources.
+ *
+ * Once {@link QueryStatistics} are installed with {@link #setStatistics}, every
+ * {@link #shortestPath} query is timed, its {@link QueryMetrics} are recorded under
+ * the algorithm's display name and attached to the returned route. Route queries
+ * also emit a {@link RoutingEvents.RouteQuery} flight recorder event, which measures
+ * them the same way while a recording has it enabled. Otherwise no clock is read and
+ * routes carry {@link QueryMetrics#NONE}. Distance-only queries are never recorded.
+ */
+public final class RoutingEngine {
+
+    /** Point-to-point shortest-path algorithms the engine can answer queries with. */
+    public enum Algorithm {
+        DIJKSTRA("Dijkstra's algorithm"),
+        ALL_PAIRS("Floyd-Warshall all-pairs table"),
+        BIDIRECTIONAL("Bidirectional Dijkstra"),
+        ALT("A* with landmarks (ALT)"),
+        CONTRACTION_HIERARCHIES("Contraction hierarchies");
+
+        private final String displayName;
+
+        Algorithm(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /** Number of hot-source trees kept by engines that enable them. */
+    public static final int DEFAULT_HOT_SOURCES = 8;
+
+    // A source gets a tree on its second query, so one-off queries never pay for a full tree
+    private static final int HOT_SOURCE_THRESHOLD = 2;
+
+    /** Query count and, once hot, the repaired tree of one source. */
+    private static final class HotSource {
+        int queries;
+        boolean building;
+        DynamicShortestPathTree tree;
+        volatile long lastUsed;
+    }
+
+    private final CsrGraph graph;
+    private final int hotSourceLimit;
+    // Sources still being counted, guarded by their own lock; sources with a tree move to hotTrees
+    private final LinkedHashMap<Integer, HotSource> hotSources;
+    private final ConcurrentHashMap<Integer, HotSource> hotTrees = new ConcurrentHashMap<>();
+    private final ThreadLocal<ShortestPathEngine> shortestPaths;
+    private final ThreadLocal<BidirectionalDijkstra> bidirectionalSearches;
+    private final ThreadLocal<AltSearch> altSearches;
+    private final ThreadLocal<ContractionHierarchySearch> hierarchySearches;
+    private final ThreadLocal<DfsEngine> traversals;
+    private volatile int componentCount = -1;
+    private volatile AllPairsShortestPaths allPairs;
+    private volatile LandmarkIndex landmarks;
+    private volatile ContractionHierarchy hierarchy;
+    private volatile QueryStatistics statistics;
+    private int[] inheritedLandmarks;
+
+    public RoutingEngine(CsrGraph graph) {
+        this(graph, 0);
+    }
+
+    /** Creates an engine that keeps shortest-path trees for up to hotSourceLimit sources. */
+    public RoutingEngine(CsrGraph graph, int hotSourceLimit) {
+        if (hotSourceLimit < 0) {
+            throw new IllegalArgumentException("Hot source limit must not be negative: " + hotSourceLimit);
+        }
+        this.graph = graph;
+        this.hotSourceLimit = hotSourceLimit;
+        this.hotSources = new LinkedHashMap<Integer, HotSource>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, HotSource> eldest) {
+                return size() > 2 * hotSourceLimit;
+            }
+        };
+        this.shortestPaths = ThreadLocal.withInitial(() -> new ShortestPathEngine(graph));
+        this.bidirectionalSearches = ThreadLocal.withInitial(() -> new BidirectionalDijkstra(graph));
+        this.altSearches = ThreadLocal.withInitial(() -> new AltSearch(graph, landmarks()));
+        this.hierarchySearches = ThreadLocal.withInitial(() -> new ContractionHierarchySearch(hierarchy()));
+        this.traversals = ThreadLocal.withInitial(() -> new DfsEngine(graph));
+    }
+
+    /**
+     * Creates an engine that answers ALT queries with landmarks computed earlier, e.g.
+     * read from a {@link GraphSnapshot}, instead of selecting them on first use.
+     */
+    public RoutingEngine(CsrGraph graph, int hotSourceLimit, LandmarkIndex landmarks) {
+        this(graph, hotSourceLimit);
+        if (landmarks.nodeCount() != graph.nodeCount) {
+            throw new IllegalArgumentException("Landmark index covers " + landmarks.nodeCount()
+                    + " nodes, graph has " + graph.nodeCount);
+        }
+        this.landmarks = landmarks;
+    }
+
+    /**
+     * Returns an engine over edited, a copy of this engine's graph whose edges were
+     * added, removed or re-weighted but whose nodes are unchanged. The landmark set
+     * chosen by this engine is kept, so the new engine only recomputes the landmark
+     * distance tables (on its first ALT query) instead of selecting landmarks again.
+     */
+    public RoutingEngine withEditedEdges(CsrGraph edited) {
+        if (edited.nodeCount != graph.nodeCount) {
+            throw new IllegalArgumentException("Edited graph has " + edited.nodeCount
+                    + " nodes, expected " + graph.nodeCount);
+        }
+        RoutingEngine next = new RoutingEngine(edited, hotSourceLimit);
+        next.statistics = statistics;
+        LandmarkIndex index = landmarks;
+        if (index != null) {
+            next.inheritedLandmarks = index.landmarks();
+        } else {
+            next.inheritedLandmarks = inheritedLandmarks;
+        }
+        return next;
+    }
+
+    /**
+     * Returns an engine over edited, a copy of this engine's graph in which only edge
+     * {u, v} was added, removed or re-weighted. Like {@link #withEditedEdges(CsrGraph)},
+     * but the hot-source trees move to the new engine and are repaired for the edit.
+     * This engine keeps answering queries by running full searches.
+     */
+    public RoutingEngine withEditedEdge(CsrGraph edited, int u, int v) {
+        RoutingEngine next = withEditedEdges(edited);
+        synchronized (hotSources) {
+            for (Map.Entry<Integer, HotSource> entry : hotTrees.entrySet()) {
+                HotSource hot = entry.getValue();
+                DynamicShortestPathTree tree = hot.tree;
+                synchronized (tree) {
+                    tree.edgeChanged(edited, u, v);
+                }
+                next.hotTrees.put(entry.getKey(), hot);
+            }
+            hotTrees.clear();
+
+            // Counts carry over, but a tree still being built here belongs to the old graph
+            for (Map.Entry<Integer, HotSource> entry : hotSources.entrySet()) {
+                HotSource counted = new HotSource();
+                counted.queries = entry.getValue().queries;
+                next.hotSources.put(entry.getKey(), counted);
+            }
+            hotSources.clear();
+        }
+        return next;
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Records the metrics of every route query into statistics from now on, or stops
+     * recording if statistics is null. Engines derived with {@link #withEditedEdges}
+     * inherit the statistics.
+     */
+    public void setStatistics(QueryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /** Statistics route queries are recorded into, or null. */
+    public QueryStatistics statistics() {
+        return statistics;
+    }
+
+    /** Returns the shortest route from source to destination using Dijkstra's algorithm. */
+    public Route shortestPath(int source, int destination) {
+        return shortestPath(source, destination, Algorithm.DIJKSTRA);
+    }
+
+    /**
+     * Returns the shortest route from source to destination using the given algorithm.
+     * Preprocessing the algorithm needs is done on first use and kept for the lifetime
+     * of the engine.
+     */
+    public Route shortestPath(int source, int destination, Algorithm algorithm) {
+        QueryStatistics stats = statistics;
+        RoutingEvents.RouteQuery event = new RoutingEvents.RouteQuery();
+        event.begin();
+        long start = stats != null || event.isEnabled() ? System.nanoTime() : QueryMetrics.NOT_TIMED;
+        Route route;
+        switch (algorithm) {
+            case ALL_PAIRS:
+                route = tableLookup(source, destination, start);
+                break;
+            case BIDIRECTIONAL:
+                route = bidirectional(source, destination, start);
+                break;
+            case ALT:
+                route = alt(source, destination, start);
+                break;
+            case CONTRACTION_HIERARCHIES:
+                route = contractionHierarchy(source, destination, start);
+                break;
+            case DIJKSTRA:
+            default:
+                route = dijkstra(source, destination, start);
+                break;
+        }
+        if (stats != null) {
+            stats.record(algorithm.toString(), route.metrics());
+        }
+        if (event.shouldCommit()) {
+            event.fill(algorithm, graph, route);
+            event.commit();
+        }
+        return route;
+    }
+
+    // Each search attaches its metrics when start is a clock reading, i.e. statistics or
+    // a flight recording want them; otherwise the route carries QueryMetrics.NONE
+    private Route tableLookup(int source, int destination, long start) {
+        Route route = allPairs().route(source, destination);
+        return start == QueryMetrics.NOT_TIMED ? route
+                : route.withMetrics(QueryMetrics.lookup(System.nanoTime() - start));
+    }
+
+    // Hot-source trees answer from labels computed earlier, so their queries report no search work
+    private Route dijkstra(int source, int destination, long start) {
+        if (hotSourceLimit > 0) {
+            DynamicShortestPathTree tree = hotTree(source);
+            if (tree != null) {
+                // A tree moved on to a newer engine by an edit no longer matches this graph
+                synchronized (tree) {
+                    if (tree.graph() == graph) {
+                        int distance = tree.distance(destination);
+                        Route route = distance == ShortestPathEngine.UNREACHABLE
+                                ? Route.unreachable(source, destination)
+                                : Route.of(distance, tree.path(destination));
+                        return start == QueryMetrics.NOT_TIMED ? route
+                                : route.withMetrics(QueryMetrics.lookup(System.nanoTime() - start));
+                    }
+                }
+            }
+        }
+        ShortestPathEngine engine = shortestPaths.get();
+        int distance = engine.query(source, destination);
+        Route route = distance == ShortestPathEngine.UNREACHABLE
+                ? Route.unreachable(source, destination, engine.settledCount())
+                : Route.of(distance, engine.path(destination), engine.settledCount());
+        return start == QueryMetrics.NOT_TIMED ? route
+                : route.withMetrics(engine.metrics(System.nanoTime() - start));
+    }
+
+    /**
+     * Counts a query from source and returns its tree once the source is hot, or null.
+     * Sources are tracked in access order and twice as many are counted as get trees,
+     * so a source must be queried again before too many others to become hot.
+     *
+     * Sources that have a tree are looked up without locking. The query that makes a
+     * source hot builds its tree outside the lock, uses it, and publishes it unless an
+     * edit moved this engine's trees on in the meantime; concurrent queries from the
+     * same source run full searches until then.
+     */
+    private DynamicShortestPathTree hotTree(int source) {
+        HotSource hot = hotTrees.get(source);
+        if (hot != null) {
+            hot.lastUsed = System.nanoTime();
+            return hot.tree;
+        }
+
+        synchronized (hotSources) {
+            hot = hotSources.get(source);
+            if (hot == null) {
+                hot = new HotSource();
+                hotSources.put(source, hot);
+            }
+            hot.queries++;
+            if (hot.building || hot.queries < HOT_SOURCE_THRESHOLD) {
+                return null;
+            }
+            hot.building = true;
+        }
+
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, source);
+        synchronized (hotSources) {
+            hot.building = false;
+            if (hotSources.get(source) == hot) {
+                if (hotTrees.size() >= hotSourceLimit) {
+                    dropColdestTree();
+                }
+                hot.tree = tree;
+                hot.lastUsed = System.nanoTime();
+                hotSources.remove(source);
+                hotTrees.put(source, hot);
+            }
+        }
+        return tree;
+    }
+
+    /** Drops the least recently used tree; its source starts counting again. Callers hold the hotSources lock. */
+    private void dropColdestTree() {
+        Integer coldest = null;
+        long oldest = Long.MAX_VALUE;
+        for (Map.Entry<Integer, HotSource> entry : hotTrees.entrySet()) {
+            long used = entry.getValue().lastUsed;
+            if (used < oldest) {
+                oldest = used;
+                coldest = entry.getKey();
+            }
+        }
+        if (coldest != null) {
+            hotTrees.remove(coldest);
+        }
+    }
+
+    private Route bidirectional(int source, int destination, long start) {
+        BidirectionalDijkstra engine = bidirectionalSearches.get();
+        int distance = engine.query(source, destination);
+        Route route = distance == ShortestPathEngine.UNREACHABLE
+                ? Route.unreachable(source, destination, engine.settledCount())
+                : Route.of(distance, engine.path(), engine.settledCount());
+        return start == QueryMetrics.NOT_TIMED ? route
+                : route.withMetrics(engine.metrics(System.nanoTime() - start));
+    }
+
+    private Route alt(int source, int destination, long start) {
+        AltSearch engine = altSearches.get();
+        int distance = engine.query(source, destination);
+        Route route = distance == ShortestPathEngine.UNREACHABLE
+                ? Route.unreachable(source, destination, engine.settledCount())
+                : Route.of(distance, engine.path(destination), engine.settledCount());
+        return start == QueryMetrics.NOT_TIMED ? route
+                : route.withMetrics(engine.metrics(System.nanoTime() - start));
+    }
+
+    private Route contractionHierarchy(int source, int destination, long start) {
+        ContractionHierarchySearch engine = hierarchySearches.get();
+        int distance = engine.query(source, destination);
+        Route route = distance == ShortestPathEngine.UNREACHABLE
+                ? Route.unreachable(source, destination, engine.settledCount())
+                : Route.of(distance, engine.path(), engine.settledCount());
+        return start == QueryMetrics.NOT_TIMED ? route
+                : route.withMetrics(engine.metrics(System.nanoTime() - start));
+    }
+
+    /** Returns the shortest distance from source to destination, without building the path. */
+    public int distance(int source, int destination) {
+        return distance(source, destination, Algorithm.DIJKSTRA);
+    }
+
+    public int distance(int source, int destination, Algorithm algorithm) {
+        switch (algorithm) {
+            case ALL_PAIRS:
+                return allPairs().distance(source, destination);
+            case BIDIRECTIONAL:
+                return bidirectionalSearches.get().query(source, destination);
+            case ALT:
+                return altSearches.get().query(source, destination);
+            case CONTRACTION_HIERARCHIES:
+                return hierarchySearches.get().query(source, destination);
+            case DIJKSTRA:
+            default:
+                if (hotSourceLimit > 0) {
+                    return dijkstra(source, destination, QueryMetrics.NOT_TIMED).distance();
+                }
+                return shortestPaths.get().query(source, destination);
+        }
+    }
+
+    /** Returns the all-pairs table, computing it on first use. */
+    public AllPairsShortestPaths allPairs() {
+        AllPairsShortestPaths table = allPairs;
+        if (table == null) {
+            synchronized (this) {
+                table = allPairs;
+                if (table == null) {
+                    table = AllPairsShortestPaths.compute(graph);
+                    allPairs = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the landmark index, selecting landmarks and computing their tables on
+     * first use. Engines created by {@link #withEditedEdges(CsrGraph)} reuse the
+     * previous landmark set.
+     */
+    public LandmarkIndex landmarks() {
+        LandmarkIndex index = landmarks;
+        if (index == null) {
+            synchronized (this) {
+                index = landmarks;
+                if (index == null) {
+                    index = inheritedLandmarks != null
+                            ? LandmarkIndex.rebuild(graph, inheritedLandmarks)
+                            : LandmarkIndex.build(graph, LandmarkIndex.DEFAULT_LANDMARK_COUNT);
+                    landmarks = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /** Returns the contraction hierarchy, building it on first use. */
+    public ContractionHierarchy hierarchy() {
+        ContractionHierarchy result = hierarchy;
+        if (result == null) {
+            synchronized (this) {
+                result = hierarchy;
+                if (result == null) {
+                    result = ContractionHierarchy.build(graph);
+                    hierarchy = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Whether algorithm can answer queries without first running its preprocessing. */
+    public boolean isPrepared(Algorithm algorithm) {
+        switch (algorithm) {
+            case ALL_PAIRS:
+                return allPairs != null;
+            case ALT:
+                return landmarks != null;
+            case CONTRACTION_HIERARCHIES:
+                return hierarchy != null;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Runs the preprocessing algorithm needs, if it has not run yet, on the calling
+     * thread. Callers that must stay responsive call this from a background thread
+     * before the first query instead of letting that query pay for it.
+     */
+    public void prepare(Algorithm algorithm) {
+        switch (algorithm) {
+            case ALL_PAIRS:
+                allPairs();
+                break;
+            case ALT:
+                landmarks();
+                break;
+            case CONTRACTION_HIERARCHIES:
+                hierarchy();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Runs a depth-first traversal from source, reporting every step to sink, and
+     * returns whether destination was reached.
+     */
+    public boolean traverse(int source, int destination, DfsEngine.StepSink sink) {
+        return traversals.get().run(source, destination, sink);
+    }
+
+    /**
+     * Returns a new cursor positioned at the start of a depth-first traversal from source,
+     * for callers that consume the steps one at a time.
+     */
+    public DfsCursor traversalCursor(int source, int destination) {
+        DfsCursor cursor = new DfsCursor(graph);
+        cursor.start(source, destination);
+        return cursor;
+    }
+
+    /** Returns whether a path exists between source and destination. */
+    public boolean isReachable(int source, int destination) {
+        return traversals.get().reaches(source, destination);
+    }
+
+    /** Returns whether every node can reach every other node. An empty graph counts as disconnected. */
+    public boolean isConnected() {
+        return graph.nodeCount > 0 && componentCount() == 1;
+    }
+
+    /** Number of connected components, computed once per engine. */
+    public int componentCount() {
+        int count = componentCount;
+        if (count < 0) {
+            count = countComponents();
+            componentCount = count;
+        }
+        return count;
+    }
+
+    private int countComponents() {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final int n = graph.nodeCount;
+
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        int components = 0;
+
+        for (int start = 0; start < n; start++) {
+            if (visited[start]) continue;
+            components++;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            visited[start] = true;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                    int v = targets[arc];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+        return components;
+    }
+}
@@ -0,0 +1,140 @@
+package routing;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events emitted by the engine.
+ *
+ * Each event is created, begun and committed around the work it describes; fields
+ * are only filled in once {@link Event#shouldCommit()} says a recording wants the
+ * event, so without a recording the cost is a flag check the JIT folds away.
+ * Stack traces are off: the events are frequent and the call sites few.
+ *
+ * Record with, for example,
+ * {@code java -XX:StartFlightRecording=filename=routing.jfr ...} and look for the
+ * "Routing" category in JDK Mission Control or {@code jfr print --categories Routing}.
+ */
+public final class RoutingEvents {
+
+    private RoutingEvents() {
+    }
+
+    @Name("routing.RouteQuery")
+    @Label("Route Query")
+    @Category({"Routing", "Search"})
+    @Description("A shortest-path query answered by a RoutingEngine, with the work the search did")
+    @StackTrace(false)
+    public static final class RouteQuery extends Event {
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Source")
+        int source;
+
+        @Label("Destination")
+        int destination;
+
+        @Label("Graph Nodes")
+        int nodeCount;
+
+        @Label("Graph Arcs")
+        int arcCount;
+
+        @Label("Distance")
+        @Description("Total weight of the route, or -1 if the destination is unreachable")
+        int distance;
+
+        @Label("Path Length")
+        @Description("Number of nodes on the route, including both endpoints")
+        int pathLength;
+
+        @Label("Settled Nodes")
+        int settledNodes;
+
+        @Label("Scanned Arcs")
+        int scannedArcs;
+
+        @Label("Relaxations")
+        int relaxations;
+
+        @Label("Heap Pushes")
+        int heapPushes;
+
+        @Label("Heap Pops")
+        int heapPops;
+
+        @Label("Peak Frontier")
+        int peakFrontier;
+
+        void fill(RoutingEngine.Algorithm algorithm, CsrGraph graph, Route route) {
+            QueryMetrics metrics = route.metrics();
+            this.algorithm = algorithm.toString();
+            this.source = route.source();
+            this.destination = route.destination();
+            this.nodeCount = graph.nodeCount;
+            this.arcCount = graph.arcCount();
+            this.distance = route.isFound() ? route.distance() : -1;
+            this.pathLength = route.length();
+            this.settledNodes = route.settledNodes();
+            this.scannedArcs = metrics.scannedArcs();
+            this.relaxations = metrics.relaxations();
+            this.heapPushes = metrics.heapPushes();
+            this.heapPops = metrics.heapPops();
+            this.peakFrontier = metrics.peakFrontier();
+        }
+    }
+
+    @Name("routing.ConnectivityUpdate")
+    @Label("Connectivity Update")
+    @Category({"Routing", "Connectivity"})
+    @Description("A ConnectivityIndex rebuild or edge edit, with the number of nodes it had to touch")
+    @StackTrace(false)
+    public static final class ConnectivityUpdate extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Graph Nodes")
+        int nodeCount;
+
+        @Label("Components")
+        @Description("Number of connected components after the update")
+        int componentCount;
+
+        @Label("Touched Nodes")
+        @Description("Nodes labelled by a rebuild, relabelled by a merge, or explored after a forest edge was removed")
+        int touchedNodes;
+
+        @Label("Forest Edge")
+        @Description("Whether the edge joined two components when added, or split a tree when removed")
+        boolean forestEdge;
+    }
+
+    @Name("routing.GraphLoad")
+    @Label("Graph Load")
+    @Category({"Routing", "I/O"})
+    @Description("A graph file parsed or mapped by GraphLoaders")
+    @StackTrace(false)
+    public static final class GraphLoad extends Event {
+        @Label("Format")
+        String format;
+
+        @Label("Path")
+        String path;
+
+        @Label("File Size")
+        @DataAmount
+        long fileSize;
+
+        @Label("Graph Nodes")
+        int nodeCount;
+
+        @Label("Graph Arcs")
+        int arcCount;
+    }
+}
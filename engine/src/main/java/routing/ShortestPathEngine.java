@@ -0,0 +1,151 @@
+package routing;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra's algorithm over a {@link CsrGraph} with primitive state.
+ *
+ * Distances and predecessors live in int arrays indexed by node and the frontier is
+ * an {@link IndexedDaryHeap}, so the queue never exceeds the node count and no
+ * objects are created per relaxation. Only the entries touched by a query are
+ * reset before the next one, which keeps short queries on large graphs cheap.
+ *
+ * An engine holds per-query scratch state and must not be shared between threads.
+ */
+public final class ShortestPathEngine {
+
+    /** Distance reported for nodes that cannot be reached from the source. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final CsrGraph graph;
+    private final int[] distance;
+    private final int[] predecessor;
+    private final int[] predecessorArc;
+    private final int[] touched;
+    private final IndexedDaryHeap heap;
+    private int touchedCount;
+    private int settledCount;
+    private int scannedArcs;
+    private int relaxations;
+
+    public ShortestPathEngine(CsrGraph graph) {
+        this.graph = graph;
+        int n = graph.nodeCount;
+        this.distance = new int[n];
+        this.predecessor = new int[n];
+        this.predecessorArc = new int[n];
+        this.touched = new int[n];
+        this.heap = new IndexedDaryHeap(n);
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(predecessor, -1);
+        Arrays.fill(predecessorArc, -1);
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Computes shortest distances from source, stopping once target is settled, and
+     * returns the distance to target ({@link #UNREACHABLE} if there is no path). Pass
+     * -1 as target to settle every node reachable from source.
+     */
+    public int query(int source, int target) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final int[] weights = graph.weights;
+
+        reset();
+        touch(source);
+        distance[source] = 0;
+        heap.insertOrDecrease(source, 0);
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settledCount++;
+            if (u == target) {
+                break;
+            }
+
+            int du = distance[u];
+            int first = offsets[u];
+            int end = offsets[u + 1];
+            scannedArcs += end - first;
+            for (int arc = first; arc < end; arc++) {
+                int v = targets[arc];
+                int alt = du + weights[arc];
+                if (alt < distance[v]) {
+                    relaxations++;
+                    if (distance[v] == UNREACHABLE) {
+                        touch(v);
+                    }
+                    distance[v] = alt;
+                    predecessor[v] = u;
+                    predecessorArc[v] = arc;
+                    heap.insertOrDecrease(v, alt);
+                }
+            }
+        }
+
+        return target >= 0 ? distance[target] : 0;
+    }
+
+    /** Number of nodes removed from the queue during the last query. */
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /** Work counters of the last query, with the given wall time ({@link QueryMetrics#NOT_TIMED} if unmeasured). */
+    public QueryMetrics metrics(long elapsedNanos) {
+        return QueryMetrics.of(settledCount, scannedArcs, relaxations, heap, elapsedNanos);
+    }
+
+    /** Distance to node found by the last query, or {@link #UNREACHABLE}. */
+    public int distance(int node) {
+        return distance[node];
+    }
+
+    /** Predecessor of node on its shortest path from the last query's source, or -1. */
+    public int predecessor(int node) {
+        return predecessor[node];
+    }
+
+    /** Arc from {@link #predecessor(int)} into node, or -1. */
+    public int predecessorArc(int node) {
+        return predecessorArc[node];
+    }
+
+    /** Returns the nodes of the shortest path to target, source first, or an empty array if unreachable. */
+    public int[] path(int target) {
+        if (distance[target] == UNREACHABLE) {
+            return new int[0];
+        }
+        int length = 0;
+        for (int node = target; node >= 0; node = predecessor[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = target, i = length - 1; node >= 0; node = predecessor[node], i--) {
+            path[i] = node;
+        }
+        return path;
+    }
+
+    private void touch(int node) {
+        touched[touchedCount++] = node;
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            distance[node] = UNREACHABLE;
+            predecessor[node] = -1;
+            predecessorArc[node] = -1;
+        }
+        touchedCount = 0;
+        settledCount = 0;
+        scannedArcs = 0;
+        relaxations = 0;
+        heap.clear();
+    }
+}
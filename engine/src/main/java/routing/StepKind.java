@@ -0,0 +1,17 @@
+package routing;
+
+/** Kind of a depth-first traversal step, stored in the top bits of a packed {@link DfsStep}. */
+public enum StepKind {
+    /** A node is visited for the first time. */
+    VISIT,
+    /** An arc leaving a node is about to be followed or skipped. */
+    CONSIDER,
+    /** The previous visit completed the traversal of every node. */
+    ALL_VISITED;
+
+    private static final StepKind[] VALUES = values();
+
+    static StepKind ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
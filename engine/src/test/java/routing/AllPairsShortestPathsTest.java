@@ -0,0 +1,55 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllPairsShortestPathsTest {
+
+    private static final long SEED = 0x5eedL;
+    // Not a multiple of the default tile size, so the last row and column of tiles are padded
+    private static final int NODES = 150;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, AllPairsShortestPaths.DEFAULT_TILE_SIZE, NODES, 2 * NODES})
+    void everyPairMatchesDijkstraOnEveryTopology(int tileSize) {
+        for (RandomGraphs.Topology topology : RandomGraphs.Topology.values()) {
+            // Sparse enough that grids and uniform graphs fall apart into several components
+            double density = topology == RandomGraphs.Topology.GRID ? 0.6 : 3.0 / (NODES - 1);
+            assertMatchesDijkstra(topology + ", tile " + tileSize,
+                    topology.generate(NODES, density, 100, SEED), tileSize);
+        }
+    }
+
+    @Test
+    void everyPairMatchesDijkstraWithUnitWeights() {
+        // Equal weights give many shortest paths of the same length, so next hops must stay consistent
+        assertMatchesDijkstra("unit grid", RandomGraphs.grid(NODES, 12, 0.9, 1, SEED),
+                AllPairsShortestPaths.DEFAULT_TILE_SIZE);
+    }
+
+    private static void assertMatchesDijkstra(String name, CsrGraph graph, int tileSize) {
+        AllPairsShortestPaths table = AllPairsShortestPaths.compute(graph, tileSize);
+        assertEquals(graph.nodeCount(), table.nodeCount());
+        ShortestPathEngine dijkstra = new ShortestPathEngine(graph);
+        int unreachable = 0;
+        for (int source = 0; source < graph.nodeCount(); source++) {
+            dijkstra.query(source, -1);
+            for (int destination = 0; destination < graph.nodeCount(); destination++) {
+                int expected = dijkstra.distance(destination);
+                assertEquals(expected, table.distance(source, destination),
+                        name + ": distance " + source + " -> " + destination);
+                Route route = table.route(source, destination);
+                assertEquals(expected, route.distance(), name + ": route " + source + " -> " + destination);
+                PathAssertions.assertPath(graph, source, destination, expected, route.nodes());
+                if (expected == ShortestPathEngine.UNREACHABLE) {
+                    unreachable++;
+                }
+            }
+        }
+        assertTrue(unreachable < graph.nodeCount() * graph.nodeCount(), name + ": every pair was unreachable");
+    }
+}
@@ -0,0 +1,119 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectivityIndexTest {
+
+    private static final long SEED = 0x5eedL;
+    private static final int NODES = 300;
+    private static final int EDITS = 400;
+
+    @Test
+    void matchesBreadthFirstSearchAfterEdgeEdits() {
+        for (RandomGraphs.Topology topology : RandomGraphs.Topology.values()) {
+            // Around average degree 2, where edits keep splitting and merging components
+            double density = topology == RandomGraphs.Topology.GRID ? 0.5 : 2.0 / (NODES - 1);
+            CsrGraph graph = topology.generate(NODES, density, 10, SEED);
+            ConnectivityIndex index = new ConnectivityIndex(graph);
+            assertMatchesSearch(topology + " before edits", graph, index);
+
+            SplittableRandom random = new SplittableRandom(SEED);
+            for (int i = 0; i < EDITS; i++) {
+                if (i % 50 == 49) {
+                    graph = graph.withNode();
+                    index.addNode();
+                    assertMatchesSearch(topology + " after adding node " + (graph.nodeCount() - 1), graph, index);
+                    continue;
+                }
+                RandomEdit edit = RandomEdit.next(graph, 10, random);
+                if (edit.kind == RandomEdit.Kind.ADD) {
+                    index.addEdge(edit.u, edit.v);
+                } else if (edit.kind == RandomEdit.Kind.REMOVE) {
+                    index.removeEdge(edit.u, edit.v, edit.after);
+                }
+                graph = edit.after;
+                assertMatchesSearch(topology + " after edit " + i + ", " + edit, graph, index);
+            }
+        }
+    }
+
+    @Test
+    void removingNodesRebuildsTheIndex() {
+        CsrGraph graph = RandomGraphs.grid(NODES, 20, 0.7, 10, SEED);
+        ConnectivityIndex index = new ConnectivityIndex(graph);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < 20; i++) {
+            graph = graph.withoutNode(random.nextInt(graph.nodeCount()));
+            index.removeNode(graph);
+            assertMatchesSearch("after removing " + (i + 1) + " nodes", graph, index);
+        }
+    }
+
+    @Test
+    void emptyAndSingleNodeGraphs() {
+        ConnectivityIndex empty = new ConnectivityIndex(CsrGraph.empty(0));
+        assertEquals(0, empty.componentCount());
+        assertFalse(empty.isConnected());
+
+        ConnectivityIndex single = new ConnectivityIndex(CsrGraph.empty(1));
+        assertEquals(1, single.componentCount());
+        assertTrue(single.isConnected());
+    }
+
+    /**
+     * Labels components with a breadth-first search and checks the index has the same
+     * partition, and that its forest spans every component with n - components edges.
+     */
+    private static void assertMatchesSearch(String when, CsrGraph graph, ConnectivityIndex index) {
+        int n = graph.nodeCount();
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        int[] queue = new int[n];
+        int components = 0;
+        for (int start = 0; start < n; start++) {
+            if (component[start] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            component[start] = start;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int arc = graph.firstArc(u); arc < graph.endArc(u); arc++) {
+                    int v = graph.arcTarget(arc);
+                    if (component[v] < 0) {
+                        component[v] = start;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            components++;
+            // Every node of the component is in the index's component of start, and no other is
+            for (int i = 0; i < tail; i++) {
+                assertTrue(index.connected(start, queue[i]), when + ": " + start + " and " + queue[i] + " split");
+                assertEquals(tail, index.componentSize(queue[i]), when + ": size of component of " + queue[i]);
+            }
+        }
+        assertEquals(n, index.nodeCount(), when + ": node count");
+        assertEquals(components, index.componentCount(), when + ": component count");
+        assertEquals(n > 0 && components == 1, index.isConnected(), when + ": connected");
+
+        int forestArcs = 0;
+        for (int u = 0; u < n; u++) {
+            for (int arc = graph.firstArc(u); arc < graph.endArc(u); arc++) {
+                if (index.isForestEdge(u, graph.arcTarget(arc))) {
+                    forestArcs++;
+                }
+            }
+        }
+        assertEquals(n - components, forestArcs / 2, when + ": forest edges");
+    }
+}
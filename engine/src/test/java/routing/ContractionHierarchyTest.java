@@ -0,0 +1,56 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractionHierarchyTest {
+
+    private static final long SEED = 0x5eedL;
+    private static final int NODES = 400;
+    private static final int QUERIES = 300;
+
+    @Test
+    void distancesAndPathsMatchDijkstraOnEveryTopology() {
+        for (RandomGraphs.Topology topology : RandomGraphs.Topology.values()) {
+            // Sparse enough that grids and uniform graphs fall apart into several components
+            double density = topology == RandomGraphs.Topology.GRID ? 0.6 : 3.0 / (NODES - 1);
+            assertMatchesDijkstra(topology.toString(), topology.generate(NODES, density, 100, SEED));
+        }
+    }
+
+    @Test
+    void distancesMatchDijkstraWithUnitWeights() {
+        // Equal weights give many shortest paths of the same length, where witness searches tie
+        assertMatchesDijkstra("unit grid", RandomGraphs.grid(NODES, 20, 0.9, 1, SEED));
+    }
+
+    @Test
+    void shortcutsAreAddedOnGrids() {
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(RandomGraphs.grid(NODES, 20, 1.0, 100, SEED));
+        assertEquals(NODES, hierarchy.nodeCount());
+        assertTrue(hierarchy.shortcutCount() > 0, "a full grid cannot be contracted without shortcuts");
+    }
+
+    private static void assertMatchesDijkstra(String name, CsrGraph graph) {
+        ContractionHierarchySearch search = new ContractionHierarchySearch(ContractionHierarchy.build(graph));
+        ShortestPathEngine dijkstra = new ShortestPathEngine(graph);
+        SplittableRandom random = new SplittableRandom(SEED);
+        int unreachable = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            int source = random.nextInt(graph.nodeCount());
+            int destination = random.nextInt(graph.nodeCount());
+            int expected = dijkstra.query(source, destination);
+            int actual = search.query(source, destination);
+            assertEquals(expected, actual, name + ": distance " + source + " -> " + destination);
+            PathAssertions.assertPath(graph, source, destination, actual, search.path());
+            if (expected == ShortestPathEngine.UNREACHABLE) {
+                unreachable++;
+            }
+        }
+        assertTrue(unreachable < QUERIES, name + ": every query was unreachable");
+    }
+}
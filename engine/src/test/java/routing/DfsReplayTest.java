@@ -0,0 +1,112 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DfsReplayTest {
+
+    private static final long SEED = 0x5eedL;
+    private static final int NODES = 300;
+    // Short intervals make seeks restore checkpoints other than the first
+    private static final int[] INTERVALS = {1, 7, 100, 0};
+
+    @Test
+    void seeksMatchARecordedTraceOnEveryTopology() {
+        for (RandomGraphs.Topology topology : RandomGraphs.Topology.values()) {
+            double density = topology == RandomGraphs.Topology.GRID ? 0.7 : 0.02;
+            CsrGraph graph = topology.generate(NODES, density, 20, SEED);
+            SplittableRandom random = new SplittableRandom(SEED);
+            for (int run = 0; run < 5; run++) {
+                int source = random.nextInt(NODES);
+                // Half of the runs traverse the whole component, without a destination
+                int destination = run % 2 == 0 ? -1 : random.nextInt(NODES);
+                for (int interval : INTERVALS) {
+                    assertReplayMatchesTrace(topology + " " + source + " -> " + destination + ", interval " + interval,
+                            graph, source, destination, interval, random);
+                }
+            }
+        }
+    }
+
+    @Test
+    void checkpointsAreTakenOncePerInterval() {
+        // A path is searched to its full depth, the worst case for the size of a checkpoint
+        CsrGraph.Builder builder = new CsrGraph.Builder(NODES);
+        for (int u = 1; u < NODES; u++) {
+            builder.addEdge(u - 1, u, 1);
+        }
+        CsrGraph path = builder.build();
+        DfsCursor cursor = new DfsCursor(path);
+        cursor.start(0, -1);
+        DfsReplay replay = new DfsReplay(cursor, 7);
+        while (replay.advance()) {
+            // Produce the whole traversal
+        }
+        // Seeking back and replaying must not add checkpoints again
+        replay.seek(0);
+        while (replay.advance()) {
+            // Replay the whole traversal
+        }
+        assertEquals(1 + replay.produced() / 7, replay.checkpointCount());
+
+        cursor.start(0, -1);
+        assertEquals(16 * NODES, new DfsReplay(cursor).interval());
+    }
+
+    /** Checks a replay against a recorded trace; interval 0 stands for the default interval. */
+    private static void assertReplayMatchesTrace(String name, CsrGraph graph, int source, int destination,
+            int interval, SplittableRandom random) {
+        DfsCursor reference = new DfsCursor(graph);
+        reference.start(source, destination);
+        DfsTrace trace = DfsTrace.record(reference);
+
+        DfsCursor cursor = new DfsCursor(graph);
+        cursor.start(source, destination);
+        DfsReplay replay = interval == 0 ? new DfsReplay(cursor) : new DfsReplay(cursor, interval);
+        while (replay.advance()) {
+            assertEquals(trace.get(replay.position() - 1), replay.step(), name + ": step " + replay.position());
+        }
+        assertEquals(trace.size(), replay.produced(), name + ": step count");
+
+        // Jump around, then step forward a little from each position
+        for (int jump = 0; jump < 40; jump++) {
+            int position = jump == 0 ? 0 : jump == 1 ? trace.size() : random.nextInt(trace.size() + 1);
+            replay.seek(position);
+            assertEquals(position, replay.position(), name + ": position");
+            assertEquals(position == 0 ? DfsStep.NONE : trace.get(position - 1), replay.step(),
+                    name + ": step after seeking to " + position);
+            assertVisitedMatchesTrace(name, trace, position, replay.cursor());
+            for (int i = position; i < Math.min(position + 5, trace.size()); i++) {
+                assertTrue(replay.advance(), name + ": advance from " + i);
+                assertEquals(trace.get(i), replay.step(), name + ": step " + (i + 1) + " after seeking");
+            }
+        }
+
+        // Replaying to the end restores the final result and counters
+        replay.seek(trace.size());
+        assertEquals(reference.found(), cursor.found(), name + ": found");
+        assertEquals(reference.visitedCount(), cursor.visitedCount(), name + ": visited count");
+        assertEquals(reference.metrics().peakFrontier(), cursor.metrics().peakFrontier(), name + ": peak depth");
+        assertEquals(reference.metrics().scannedArcs(), cursor.metrics().scannedArcs(), name + ": scanned arcs");
+    }
+
+    private static void assertVisitedMatchesTrace(String name, DfsTrace trace, int position, DfsCursor cursor) {
+        boolean[] visited = new boolean[cursor.graph().nodeCount()];
+        int count = 0;
+        for (int i = 0; i < position; i++) {
+            long step = trace.get(i);
+            if (DfsStep.kind(step) == StepKind.VISIT) {
+                visited[DfsStep.node(step)] = true;
+                count++;
+            }
+        }
+        assertEquals(count, cursor.visitedCount(), name + ": visited count at " + position);
+        for (int node = 0; node < visited.length; node++) {
+            assertEquals(visited[node], cursor.isVisited(node), name + ": node " + node + " at " + position);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DynamicShortestPathTreeTest {
+
+    private static final long SEED = 0x5eedL;
+    private static final int NODES = 400;
+    private static final int EDITS = 300;
+    private static final int SOURCES = 3;
+
+    @Test
+    void repairsMatchDijkstraAfterEdgeEdits() {
+        assertRepairsMatchDijkstra("grid", RandomGraphs.grid(NODES, 20, 0.7, 20, SEED), 20);
+        assertRepairsMatchDijkstra("geometric", RandomGraphs.Topology.GEOMETRIC.generate(NODES, 6.0 / NODES, 20, SEED), 20);
+        assertRepairsMatchDijkstra("uniform", RandomGraphs.gnp(NODES, 2.5 / NODES, 20, SEED), 20);
+    }
+
+    @Test
+    void repairsMatchDijkstraWithTiedDistances() {
+        // With weights 1..3 most nodes have several shortest paths, so predecessors can switch
+        assertRepairsMatchDijkstra("small-weight grid", RandomGraphs.grid(NODES, 20, 0.8, 3, SEED), 3);
+    }
+
+    @Test
+    void rejectsAGraphWithOtherNodes() {
+        CsrGraph graph = RandomGraphs.grid(16, 4, 1.0, 5, SEED);
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, 0);
+        assertThrows(IllegalArgumentException.class, () -> tree.edgeChanged(graph.withNode(), 0, 1));
+    }
+
+    private static void assertRepairsMatchDijkstra(String name, CsrGraph graph, int maxWeight) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        DynamicShortestPathTree[] trees = new DynamicShortestPathTree[SOURCES];
+        for (int i = 0; i < SOURCES; i++) {
+            trees[i] = new DynamicShortestPathTree(graph, random.nextInt(NODES));
+            assertMatchesDijkstra(name + " before edits", graph, trees[i]);
+        }
+        for (int i = 0; i < EDITS; i++) {
+            RandomEdit edit = RandomEdit.next(graph, maxWeight, random);
+            graph = edit.after;
+            for (DynamicShortestPathTree tree : trees) {
+                tree.edgeChanged(graph, edit.u, edit.v);
+                assertMatchesDijkstra(name + " after edit " + i + ", " + edit, graph, tree);
+            }
+        }
+    }
+
+    /** Compares every distance with a full Dijkstra run and checks the tree's paths are real. */
+    private static void assertMatchesDijkstra(String when, CsrGraph graph, DynamicShortestPathTree tree) {
+        int source = tree.source();
+        ShortestPathEngine dijkstra = new ShortestPathEngine(graph);
+        dijkstra.query(source, -1);
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            int expected = dijkstra.distance(node);
+            assertEquals(expected, tree.distance(node), when + ": distance " + source + " -> " + node);
+            if (node != source && expected != ShortestPathEngine.UNREACHABLE) {
+                int predecessor = tree.predecessor(node);
+                assertEquals(expected, tree.distance(predecessor) + graph.weight(predecessor, node),
+                        when + ": tree edge " + predecessor + "-" + node);
+            }
+        }
+        int target = (source * 31 + 7) % graph.nodeCount();
+        PathAssertions.assertPath(graph, source, target, tree.distance(target), tree.path(target));
+    }
+}
@@ -0,0 +1,172 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphLoadersTest {
+
+    private static final long SEED = 0x5eedL;
+    private static final int NODES = 300;
+    // Lines are longer than the smallest sizes, so most chunk cuts fall inside a line
+    private static final int[] CHUNK_SIZES = {1, 7, 64, 4096, GraphLoaders.CHUNK_BYTES};
+    private static final String[] LINE_ENDS = {"\n", "\r\n"};
+
+    @TempDir
+    Path directory;
+
+    /** Sparse enough to leave isolated nodes, with an edge on the last node so edge lists know the node count. */
+    private static CsrGraph graph() {
+        return RandomGraphs.grid(NODES, 20, 0.7, 1000, SEED).withEdge(NODES - 2, NODES - 1, 5);
+    }
+
+    @Test
+    void dimacsMatchesAtEveryChunkSize() throws IOException {
+        CsrGraph graph = graph();
+        for (String lineEnd : LINE_ENDS) {
+            StringBuilder text = new StringBuilder("c random grid" + lineEnd);
+            text.append("p sp ").append(NODES).append(' ').append(graph.arcCount()).append(lineEnd);
+            for (int arc = 0; arc < graph.arcCount(); arc++) {
+                if (arc % 10 == 0) {
+                    text.append("c arc ").append(arc).append(lineEnd);
+                }
+                // Both arcs of every edge, as road network files list them
+                text.append("a ").append(graph.arcSource(arc) + 1).append(' ').append(graph.arcTarget(arc) + 1)
+                        .append(' ').append(graph.arcWeight(arc)).append(lineEnd);
+            }
+            assertLoadsAtEveryChunkSize(graph, write("roads.gr", text), GraphLoaders.Format.DIMACS);
+        }
+    }
+
+    @Test
+    void edgeListMatchesAtEveryChunkSize() throws IOException {
+        CsrGraph graph = graph();
+        for (String lineEnd : LINE_ENDS) {
+            StringBuilder text = new StringBuilder("# u v w" + lineEnd);
+            int edge = 0;
+            for (int arc = 0; arc < graph.arcCount(); arc++) {
+                int u = graph.arcSource(arc);
+                int v = graph.arcTarget(arc);
+                if (u > v) {
+                    continue;
+                }
+                // Mix plain indices, visualizer ids, comments, blank lines and extra columns
+                String prefix = edge % 2 == 0 ? "" : "N";
+                text.append(prefix).append(u).append('\t').append(prefix).append(v).append(' ')
+                        .append(graph.arcWeight(arc));
+                text.append(edge % 3 == 0 ? " 42" + lineEnd : lineEnd);
+                if (edge % 17 == 0) {
+                    text.append(lineEnd).append("# edge ").append(edge).append(lineEnd);
+                }
+                edge++;
+            }
+            assertLoadsAtEveryChunkSize(graph, write("edges.txt", text), GraphLoaders.Format.EDGE_LIST);
+        }
+    }
+
+    @Test
+    void metisMatchesAtEveryChunkSize() throws IOException {
+        CsrGraph graph = graph();
+        CsrGraph.Builder unit = new CsrGraph.Builder(NODES);
+        for (int arc = 0; arc < graph.arcCount(); arc++) {
+            unit.addEdge(graph.arcSource(arc), graph.arcTarget(arc), 1);
+        }
+        CsrGraph unitGraph = unit.build();
+
+        // Without fmt, and with edge weights behind vertex weights and vertex sizes
+        String[] formats = {"", " 1", " 11", " 111"};
+        for (String lineEnd : LINE_ENDS) {
+            for (String fmt : formats) {
+                int skipped = fmt.length() - 2;
+                StringBuilder text = new StringBuilder("% random grid" + lineEnd);
+                text.append(NODES).append(' ').append(graph.edgeCount()).append(fmt).append(lineEnd);
+                for (int u = 0; u < NODES; u++) {
+                    // Comments must not count as node lines, so nodes after them keep their index
+                    if (u % 25 == 0) {
+                        text.append("% node ").append(u + 1).append(lineEnd);
+                    }
+                    for (int k = 0; k < skipped; k++) {
+                        text.append("3 ");
+                    }
+                    for (int arc = graph.firstArc(u); arc < graph.endArc(u); arc++) {
+                        text.append(graph.arcTarget(arc) + 1).append(' ');
+                        if (!fmt.isEmpty()) {
+                            text.append(graph.arcWeight(arc)).append(' ');
+                        }
+                    }
+                    text.append(lineEnd);
+                }
+                CsrGraph expected = fmt.isEmpty() ? unitGraph : graph;
+                assertLoadsAtEveryChunkSize(expected, write("grid.graph", text), GraphLoaders.Format.METIS);
+            }
+        }
+    }
+
+    @Test
+    void formatFollowsExtension() {
+        assertEquals(GraphLoaders.Format.DIMACS, GraphLoaders.Format.of(Path.of("USA-road-d.NY.GR")));
+        assertEquals(GraphLoaders.Format.METIS, GraphLoaders.Format.of(Path.of("mesh.graph")));
+        assertEquals(GraphLoaders.Format.METIS, GraphLoaders.Format.of(Path.of("mesh.metis")));
+        assertEquals(GraphLoaders.Format.SNAPSHOT, GraphLoaders.Format.of(Path.of("roads" + GraphSnapshot.EXTENSION)));
+        assertEquals(GraphLoaders.Format.EDGE_LIST, GraphLoaders.Format.of(Path.of("edges.csv")));
+    }
+
+    @Test
+    void malformedFilesAreRejected() throws IOException {
+        assertRejected("p sp 2 1\na 1 2 0\n", GraphLoaders.Format.DIMACS, "Edge weight must be positive");
+        assertRejected("p sp 2 1\na 1 3 5\n", GraphLoaders.Format.DIMACS, "outside nodes 1..2");
+        assertRejected("p sp 2 1\na 1 2\n", GraphLoaders.Format.DIMACS, "Expected a non-negative integer");
+        assertRejected("c no problem line\na 1 2 3\n", GraphLoaders.Format.DIMACS, "Missing DIMACS problem line");
+        assertRejected("% only comments\n", GraphLoaders.Format.METIS, "Missing METIS header line");
+        assertRejected("3 1\n2\n% not a node\n1\n", GraphLoaders.Format.METIS, "lists 2 of 3 nodes");
+        assertRejected("2 1\n3\n1\n", GraphLoaders.Format.METIS, "Neighbour 3 outside nodes 1..2");
+        assertRejected("2 1 1\n2 -4\n1 4\n", GraphLoaders.Format.METIS, "Expected a non-negative integer");
+        assertRejected("0 1 5x\n", GraphLoaders.Format.EDGE_LIST, "Expected a non-negative integer");
+        assertRejected("0 1 99999999999\n", GraphLoaders.Format.EDGE_LIST, "Number too large");
+        assertRejected("0 1 " + (GraphLoaders.MAX_PATH_LENGTH / 2 + 1) + "\n", GraphLoaders.Format.EDGE_LIST,
+                "can overflow path lengths");
+    }
+
+    @Test
+    void errorsReportTheirFileOffsetInLaterChunks() throws IOException {
+        // The bad weight sits at byte 10, in a chunk that does not start the file
+        Path file = write("bad.txt", new StringBuilder("0 1 5\n1 2 x\n"));
+        IOException e = assertThrows(IOException.class,
+                () -> GraphLoaders.load(file, GraphLoaders.Format.EDGE_LIST, 4));
+        assertTrue(e.getMessage().endsWith("at byte 10"), e.getMessage());
+    }
+
+    private Path write(String name, CharSequence text) throws IOException {
+        return Files.writeString(directory.resolve(name), text, StandardCharsets.US_ASCII);
+    }
+
+    private void assertRejected(String text, GraphLoaders.Format format, String message) throws IOException {
+        Path file = write("bad", text);
+        for (int chunkBytes : CHUNK_SIZES) {
+            IOException e = assertThrows(IOException.class, () -> GraphLoaders.load(file, format, chunkBytes),
+                    format + " " + text.trim() + ", chunks of " + chunkBytes);
+            assertTrue(e.getMessage().contains(message), e.getMessage());
+        }
+    }
+
+    private static void assertLoadsAtEveryChunkSize(CsrGraph expected, Path file, GraphLoaders.Format format)
+            throws IOException {
+        for (int chunkBytes : CHUNK_SIZES) {
+            CsrGraph actual = GraphLoaders.load(file, format, chunkBytes);
+            String name = format + ", chunks of " + chunkBytes;
+            assertEquals(expected.nodeCount, actual.nodeCount, name + ": node count");
+            assertArrayEquals(expected.offsets, actual.offsets, name + ": offsets");
+            assertArrayEquals(expected.targets, actual.targets, name + ": targets");
+            assertArrayEquals(expected.weights, actual.weights, name + ": weights");
+        }
+    }
+}
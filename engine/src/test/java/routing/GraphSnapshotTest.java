@@ -0,0 +1,167 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphSnapshotTest {
+
+    private static final long SEED = 0x5eedL;
+    private static final int NODES = 40;
+
+    // Offsets of the header fields and of the first section table entry
+    private static final int VERSION_AT = 4;
+    private static final int SECTION_COUNT_AT = 8;
+    private static final int TABLE_AT = 16;
+    private static final int ENTRY_BYTES = 24;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void graphCoordinatesAndLandmarksSurviveRoundTrip() throws IOException {
+        GraphSnapshot written = fullSnapshot();
+        Path file = directory.resolve("full" + GraphSnapshot.EXTENSION);
+        written.write(file);
+        GraphSnapshot read = GraphSnapshot.read(file);
+
+        assertSameGraph(written.graph(), read.graph());
+        assertTrue(read.hasCoordinates());
+        for (int node = 0; node < NODES; node++) {
+            assertEquals(written.x(node), read.x(node), "x of node " + node);
+            assertEquals(written.y(node), read.y(node), "y of node " + node);
+        }
+        LandmarkIndex landmarks = read.landmarks();
+        assertArrayEquals(written.landmarks().landmarks(), landmarks.landmarks());
+        assertArrayEquals(written.landmarks().distanceTable(), landmarks.distanceTable());
+        assertEquals(GraphLoaders.Format.SNAPSHOT, GraphLoaders.Format.of(file));
+        assertSameGraph(written.graph(), GraphLoaders.load(file));
+    }
+
+    @Test
+    void optionalSectionsAreOptional() throws IOException {
+        CsrGraph graph = RandomGraphs.gnp(NODES, 0.1, 50, SEED);
+        Path file = directory.resolve("graph" + GraphSnapshot.EXTENSION);
+        new GraphSnapshot(graph).write(file);
+        GraphSnapshot read = GraphSnapshot.read(file);
+        assertSameGraph(graph, read.graph());
+        assertFalse(read.hasCoordinates());
+        assertNull(read.landmarks());
+
+        // Rewriting a shorter snapshot over a longer one must not leave the old tail behind
+        fullSnapshot().write(file);
+        new GraphSnapshot(CsrGraph.empty(0)).write(file);
+        assertEquals(0, GraphSnapshot.read(file).graph().nodeCount());
+    }
+
+    @Test
+    void unknownSectionsAreSkipped() throws IOException {
+        GraphSnapshot written = fullSnapshot();
+        byte[] bytes = bytes(written);
+        // Retag the coordinates section, the second one, as a section from a newer writer
+        buffer(bytes).putInt(TABLE_AT + ENTRY_BYTES, 99);
+        GraphSnapshot read = GraphSnapshot.read(write(bytes));
+        assertSameGraph(written.graph(), read.graph());
+        assertFalse(read.hasCoordinates());
+        assertArrayEquals(written.landmarks().distanceTable(), read.landmarks().distanceTable());
+    }
+
+    @Test
+    void truncatedFilesAreRejected() throws IOException {
+        byte[] bytes = bytes(fullSnapshot());
+        // Sections are padded to 8 bytes, so only cuts before the end of the last section lose data
+        ByteBuffer header = buffer(bytes);
+        int last = TABLE_AT + ENTRY_BYTES * (header.getInt(SECTION_COUNT_AT) - 1);
+        long dataEnd = header.getLong(last + 8) + header.getLong(last + 16);
+        for (int length = 0; length < dataEnd; length++) {
+            Path file = write(Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> GraphSnapshot.read(file), "snapshot cut to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void corruptedFilesAreRejected() throws IOException {
+        GraphSnapshot snapshot = fullSnapshot();
+        byte[] bytes = bytes(snapshot);
+        ByteBuffer header = buffer(bytes);
+        long graphAt = header.getLong(TABLE_AT + 8);
+        long targetsAt = graphAt + 8 + 4L * (NODES + 1);
+
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt(0, 0x12345678), "not a graph snapshot");
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt(VERSION_AT, GraphSnapshot.VERSION + 1),
+                "snapshot version");
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt(SECTION_COUNT_AT, 1 << 20), "damaged section table");
+        assertCorruptionRejected(bytes, buffer -> buffer.putLong(TABLE_AT + 8, bytes.length), "outside the file");
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt((int) graphAt, NODES + 1),
+                "does not match its counts");
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt((int) targetsAt, NODES), "targets missing node");
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt((int) graphAt + 8 + 4, -1), "Offsets decrease");
+        // Coordinates for one node fewer than the graph has
+        assertCorruptionRejected(bytes, buffer -> buffer.putLong(TABLE_AT + ENTRY_BYTES + 16, 16L * (NODES - 1)),
+                "coordinates");
+        long landmarksAt = header.getLong(TABLE_AT + 2 * ENTRY_BYTES + 8);
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt((int) landmarksAt + 4, NODES), "out of range");
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt((int) landmarksAt, 1 << 30), "landmark");
+        assertCorruptionRejected(bytes, buffer -> buffer.putInt(TABLE_AT, 99), "no graph section");
+    }
+
+    private interface Corruption {
+        void apply(ByteBuffer buffer);
+    }
+
+    private void assertCorruptionRejected(byte[] original, Corruption corruption, String message) throws IOException {
+        byte[] bytes = original.clone();
+        corruption.apply(buffer(bytes));
+        Path file = write(bytes);
+        IOException e = assertThrows(IOException.class, () -> GraphSnapshot.read(file), message);
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    private static GraphSnapshot fullSnapshot() {
+        CsrGraph graph = RandomGraphs.gnp(NODES, 0.1, 50, SEED);
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] x = new double[NODES];
+        double[] y = new double[NODES];
+        for (int node = 0; node < NODES; node++) {
+            x[node] = random.nextDouble(-1000, 1000);
+            y[node] = random.nextDouble(-1000, 1000);
+        }
+        return new GraphSnapshot(graph).withCoordinates(x, y)
+                .withLandmarks(LandmarkIndex.build(graph, LandmarkIndex.DEFAULT_LANDMARK_COUNT));
+    }
+
+    private byte[] bytes(GraphSnapshot snapshot) throws IOException {
+        Path file = directory.resolve("original" + GraphSnapshot.EXTENSION);
+        snapshot.write(file);
+        return Files.readAllBytes(file);
+    }
+
+    private Path write(byte[] bytes) throws IOException {
+        return Files.write(directory.resolve("damaged" + GraphSnapshot.EXTENSION), bytes);
+    }
+
+    private static ByteBuffer buffer(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void assertSameGraph(CsrGraph expected, CsrGraph actual) {
+        assertEquals(expected.nodeCount, actual.nodeCount, "node count");
+        assertArrayEquals(expected.offsets, actual.offsets, "offsets");
+        assertArrayEquals(expected.targets, actual.targets, "targets");
+        assertArrayEquals(expected.weights, actual.weights, "weights");
+    }
+}
@@ -0,0 +1,33 @@
+package routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Checks that a path returned by a search is a real path of the graph with the reported length. */
+final class PathAssertions {
+
+    private PathAssertions() {
+    }
+
+    /**
+     * Asserts that path runs from source to destination over edges of graph and that
+     * its weights add up to distance; an unreachable destination must have an empty path.
+     */
+    static void assertPath(CsrGraph graph, int source, int destination, int distance, int[] path) {
+        String pair = source + " -> " + destination;
+        if (distance == ShortestPathEngine.UNREACHABLE) {
+            assertEquals(0, path.length, "path for unreachable " + pair);
+            return;
+        }
+        assertTrue(path.length > 0, "empty path for " + pair);
+        assertEquals(source, path[0], "first node of " + pair);
+        assertEquals(destination, path[path.length - 1], "last node of " + pair);
+        long length = 0;
+        for (int i = 1; i < path.length; i++) {
+            assertTrue(graph.hasEdge(path[i - 1], path[i]),
+                    "no edge " + path[i - 1] + "-" + path[i] + " on path " + pair);
+            length += graph.weight(path[i - 1], path[i]);
+        }
+        assertEquals(distance, length, "length of path " + pair);
+    }
+}
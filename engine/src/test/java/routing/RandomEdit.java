@@ -0,0 +1,72 @@
+package routing;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random single-edge edit of a graph: an edge added between two unconnected nodes,
+ * an existing edge removed, or an existing edge given a new weight. Tests apply
+ * sequences of edits to incremental structures and compare them with a recomputation
+ * on {@link #after}.
+ */
+final class RandomEdit {
+
+    enum Kind {
+        ADD, REMOVE, REWEIGHT
+    }
+
+    final Kind kind;
+    final int u;
+    final int v;
+    /** Weight of the edge before the edit, 0 if it was added. */
+    final int oldWeight;
+    /** Weight of the edge after the edit, 0 if it was removed. */
+    final int newWeight;
+    final CsrGraph after;
+
+    private RandomEdit(Kind kind, int u, int v, int oldWeight, int newWeight, CsrGraph after) {
+        this.kind = kind;
+        this.u = u;
+        this.v = v;
+        this.oldWeight = oldWeight;
+        this.newWeight = newWeight;
+        this.after = after;
+    }
+
+    /** Draws an edit of graph, which needs at least two nodes, with weights in [1, maxWeight]. */
+    static RandomEdit next(CsrGraph graph, int maxWeight, SplittableRandom random) {
+        int n = graph.nodeCount();
+        Kind kind = Kind.values()[random.nextInt(Kind.values().length)];
+        if (graph.edgeCount() == 0) {
+            kind = Kind.ADD;
+        }
+        if (kind == Kind.ADD) {
+            // Dense graphs may have no free pair close at hand; edit an existing edge instead
+            for (int attempt = 0; attempt < 100; attempt++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (u != v && !graph.hasEdge(u, v)) {
+                    int weight = 1 + random.nextInt(maxWeight);
+                    return new RandomEdit(Kind.ADD, u, v, 0, weight, graph.withEdge(u, v, weight));
+                }
+            }
+            kind = Kind.REMOVE;
+        }
+
+        int u;
+        do {
+            u = random.nextInt(n);
+        } while (graph.degree(u) == 0);
+        int v = graph.arcTarget(graph.firstArc(u) + random.nextInt(graph.degree(u)));
+        int oldWeight = graph.weight(u, v);
+        if (kind == Kind.REMOVE) {
+            return new RandomEdit(kind, u, v, oldWeight, 0, graph.withoutEdge(u, v));
+        }
+        int weight = 1 + random.nextInt(maxWeight);
+        return new RandomEdit(kind, u, v, oldWeight, weight, graph.withEdge(u, v, weight));
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + u + "-" + v + " (" + oldWeight + " -> " + newWeight + ")";
+    }
+}
@@ -0,0 +1,126 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomGraphsTest {
+
+    private static final long SEED = 0x5eedL;
+    // About 18 million pairs, so G(n, p) is split into several row ranges of 2^22 pairs
+    private static final int LARGE = 6000;
+    private static final double P = 0.001;
+
+    @Test
+    void gnpIsFixedBySeedAcrossRowRanges() {
+        CsrGraph graph = RandomGraphs.gnp(LARGE, P, 100, SEED);
+        // Recorded from the generator; a change here changes every seeded graph users have saved
+        assertEquals(18060, graph.edgeCount());
+        assertEquals(37881916, Arrays.hashCode(graph.offsets));
+        assertEquals(463262184, Arrays.hashCode(graph.targets));
+        assertEquals(1458532901, Arrays.hashCode(graph.weights));
+    }
+
+    @Test
+    void gnpDoesNotDependOnParallelism() throws InterruptedException, ExecutionException {
+        CsrGraph expected = RandomGraphs.gnp(LARGE, P, 100, SEED);
+        for (int threads : new int[] {1, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                CsrGraph actual = pool.submit(() -> RandomGraphs.gnp(LARGE, P, 100, SEED)).get();
+                assertArrayEquals(expected.offsets, actual.offsets, threads + " threads: offsets");
+                assertArrayEquals(expected.targets, actual.targets, threads + " threads: targets");
+                assertArrayEquals(expected.weights, actual.weights, threads + " threads: weights");
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void gnpSelectsPairsEvenlyAcrossRowRanges() {
+        CsrGraph graph = RandomGraphs.gnp(LARGE, P, 100, SEED + 1);
+        // Count the edges of the lower and upper halves of the rows separately, so a range
+        // that emits nothing or emits twice shows up even when the total looks plausible
+        int half = LARGE / 2;
+        long lowerPairs = (long) half * (half - 1) / 2;
+        long upperPairs = (long) LARGE * (LARGE - 1) / 2 - lowerPairs;
+        long lowerEdges = 0;
+        long upperEdges = 0;
+        for (int arc = 0; arc < graph.arcCount(); arc++) {
+            int u = graph.arcSource(arc);
+            int v = graph.arcTarget(arc);
+            if (u < v) {
+                if (v < half) {
+                    lowerEdges++;
+                } else {
+                    upperEdges++;
+                }
+            }
+        }
+        assertNearBinomialMean("lower rows", lowerEdges, lowerPairs, P);
+        assertNearBinomialMean("upper rows", upperEdges, upperPairs, P);
+    }
+
+    @Test
+    void gnpHandlesExtremeProbabilities() {
+        assertEquals(0, RandomGraphs.gnp(LARGE, 0, 10, SEED).edgeCount());
+        assertEquals(200 * 199 / 2, RandomGraphs.gnp(200, 1, 10, SEED).edgeCount());
+        assertEquals(200 * 199 / 2, RandomGraphs.gnp(200, 2, 10, SEED).edgeCount());
+        assertEquals(0, RandomGraphs.gnp(1, 0.5, 10, SEED).edgeCount());
+        assertEquals(0, RandomGraphs.gnp(0, 0.5, 10, SEED).nodeCount());
+    }
+
+    @Test
+    void generatorsProduceTheirExactEdgeCounts() {
+        // A full 30 x 20 lattice: 20 rows of 29 horizontal edges, 19 rows of 30 vertical ones
+        assertEquals(20 * 29 + 19 * 30, RandomGraphs.grid(600, 30, 1.0, 10, SEED).edgeCount());
+        assertEquals(0, RandomGraphs.grid(600, 30, 0.0, 10, SEED).edgeCount());
+        // A clique of m + 1 nodes, then m edges for every further node
+        assertEquals(4 * 5 / 2 + 4 * (500 - 5), RandomGraphs.barabasiAlbert(500, 4, 10, SEED).edgeCount());
+        // Without rewiring, a ring where every node links to k / 2 successors
+        assertEquals(500 * 3, RandomGraphs.wattsStrogatz(500, 6, 0, 10, SEED).edgeCount());
+        // A radius covering the unit square joins every pair
+        assertEquals(300 * 299 / 2, RandomGraphs.geometric(300, 1.5, 10, SEED).edgeCount());
+        assertEquals(0, RandomGraphs.geometric(300, 0, 10, SEED).edgeCount());
+    }
+
+    @Test
+    void topologiesMatchTheRequestedAverageDegree() {
+        int n = 4000;
+        double density = 8.0 / (n - 1);
+        for (RandomGraphs.Topology topology : RandomGraphs.Topology.values()) {
+            if (topology == RandomGraphs.Topology.GRID) {
+                continue; // Density is the kept fraction of lattice edges, not a degree
+            }
+            CsrGraph graph = topology.generate(n, density, 10, SEED);
+            double degree = (double) graph.arcCount() / n;
+            // Geometric graphs lose some degree at the border of the square; rewired edges may merge
+            assertTrue(degree > 6.5 && degree < 8.5, topology + ": average degree " + degree);
+        }
+    }
+
+    @Test
+    void weightsStayWithinRange() {
+        for (RandomGraphs.Topology topology : RandomGraphs.Topology.values()) {
+            CsrGraph graph = topology.generate(1000, 0.01, 7, SEED);
+            for (int weight : graph.weights) {
+                assertTrue(weight >= 1 && weight <= 7, topology + ": weight " + weight);
+            }
+        }
+    }
+
+    private static void assertNearBinomialMean(String name, long count, long trials, double p) {
+        double mean = trials * p;
+        double deviation = Math.sqrt(trials * p * (1 - p));
+        // Five standard deviations: a correct generator fails this about once in two million seeds
+        assertTrue(Math.abs(count - mean) < 5 * deviation,
+                name + ": " + count + " edges, expected about " + Math.round(mean));
+    }
+}
@@ -0,0 +1,105 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteCacheTest {
+
+    private static final long SEED = 0x5eedL;
+    private static final int NODES = 300;
+    private static final int PAIRS = 40;
+
+    @Test
+    void cachedRoutesMatchDijkstraAfterEdits() {
+        CsrGraph graph = RandomGraphs.grid(NODES, 18, 0.7, 20, SEED);
+        RouteCache cache = new RouteCache(32);
+        SplittableRandom random = new SplittableRandom(SEED);
+        // A small pool of pairs, so the same routes are asked for again after edits
+        int[] sources = new int[PAIRS];
+        int[] destinations = new int[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            sources[i] = random.nextInt(NODES);
+            destinations[i] = random.nextInt(NODES);
+        }
+
+        long hitsAfterEdits = 0;
+        for (int round = 0; round < 300; round++) {
+            for (int q = 0; q < 10; q++) {
+                int i = random.nextInt(PAIRS);
+                Route cached = cache.get(sources[i], destinations[i]);
+                Route fresh = route(graph, sources[i], destinations[i]);
+                if (cached == null) {
+                    cache.put(fresh);
+                    continue;
+                }
+                if (round > 0) {
+                    hitsAfterEdits++;
+                }
+                String when = "round " + round + ", " + sources[i] + " -> " + destinations[i];
+                assertEquals(fresh.distance(), cached.distance(), when);
+                PathAssertions.assertPath(graph, sources[i], destinations[i], fresh.distance(), cached.nodes());
+            }
+
+            if (round % 50 == 49) {
+                graph = graph.withNode();
+                cache.nodeAdded();
+                continue;
+            }
+            RandomEdit edit = RandomEdit.next(graph, 20, random);
+            graph = edit.after;
+            // A cheaper or new edge can only shorten routes; anything else can only lengthen them
+            if (edit.kind == RandomEdit.Kind.ADD
+                    || (edit.kind == RandomEdit.Kind.REWEIGHT && edit.newWeight < edit.oldWeight)) {
+                cache.edgeAdded(edit.u, edit.v, edit.newWeight);
+            } else {
+                cache.edgeRemoved(edit.u, edit.v);
+            }
+        }
+        assertTrue(hitsAfterEdits > 0, "no cached route survived an edit");
+        assertTrue(cache.invalidations() > 0, "no edit invalidated a cached route");
+    }
+
+    @Test
+    void invalidateAllDropsEveryEntry() {
+        RouteCache cache = new RouteCache();
+        Route route = Route.of(3, new int[]{0, 1, 2});
+        cache.put(route);
+        assertSame(route, cache.get(0, 2));
+
+        long version = cache.version();
+        cache.invalidateAll();
+        assertEquals(version + 1, cache.version());
+        assertNull(cache.get(0, 2));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        RouteCache cache = new RouteCache(2);
+        cache.put(Route.of(1, new int[]{0, 1}));
+        cache.put(Route.of(1, new int[]{1, 2}));
+        assertNotNull(cache.get(0, 1));
+        cache.put(Route.of(1, new int[]{2, 3}));
+
+        assertNull(cache.get(1, 2));
+        assertNotNull(cache.get(0, 1));
+        assertNotNull(cache.get(2, 3));
+        assertEquals(1, cache.evictions());
+    }
+
+    private static Route route(CsrGraph graph, int source, int destination) {
+        ShortestPathEngine dijkstra = new ShortestPathEngine(graph);
+        int distance = dijkstra.query(source, destination);
+        return distance == ShortestPathEngine.UNREACHABLE
+                ? Route.unreachable(source, destination)
+                : Route.of(distance, dijkstra.path(destination));
+    }
+}
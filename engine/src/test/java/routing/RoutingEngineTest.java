@@ -0,0 +1,142 @@
+package routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingEngineTest {
+
+    private static final long SEED = 0x5eedL;
+    private static final int NODES = 400;
+    private static final int HOT_SOURCES = 4;
+    private static final int QUERIES = 200;
+
+    @ParameterizedTest
+    @EnumSource(value = RoutingEngine.Algorithm.class, names = {"DIJKSTRA", "BIDIRECTIONAL", "ALT"})
+    void routesMatchDijkstraOnEveryTopology(RoutingEngine.Algorithm algorithm, @TempDir Path directory)
+            throws IOException {
+        for (RandomGraphs.Topology topology : RandomGraphs.Topology.values()) {
+            // For grids the density is the fraction of lattice edges kept, not an edge probability
+            double density = topology == RandomGraphs.Topology.GRID ? 0.7 : 0.01;
+            CsrGraph graph = topology.generate(NODES, density, 20, SEED);
+            RoutingEngine engine = new RoutingEngine(graph);
+            SplittableRandom random = new SplittableRandom(SEED);
+            String when = topology + ", " + algorithm;
+            assertRoutesMatchDijkstra(when, engine, algorithm, random);
+
+            // Edited engines keep the landmark set and rebuild only its distance tables
+            int[] landmarks = engine.landmarks().landmarks();
+            for (int i = 0; i < 20; i++) {
+                graph = RandomEdit.next(graph, 20, random).after;
+                engine = engine.withEditedEdges(graph);
+            }
+            assertRoutesMatchDijkstra(when + " after edits", engine, algorithm, random);
+            assertArrayEquals(landmarks, engine.landmarks().landmarks(), when + ": landmarks after edits");
+
+            // Landmark tables read back from a snapshot answer queries without being recomputed
+            Path file = directory.resolve(topology.name() + GraphSnapshot.EXTENSION);
+            new GraphSnapshot(graph).withLandmarks(engine.landmarks()).write(file);
+            GraphSnapshot snapshot = GraphSnapshot.read(file);
+            engine = new RoutingEngine(snapshot.graph(), 0, snapshot.landmarks());
+            assertRoutesMatchDijkstra(when + " from snapshot", engine, algorithm, random);
+        }
+    }
+
+    @Test
+    void hotSourceTreesMatchDijkstraAcrossEdgeEdits() {
+        CsrGraph graph = RandomGraphs.grid(NODES, 20, 0.7, 20, SEED);
+        RoutingEngine engine = new RoutingEngine(graph, HOT_SOURCES);
+        SplittableRandom random = new SplittableRandom(SEED);
+        // More repeated sources than tree slots, so trees are also evicted and rebuilt
+        int[] sources = new int[HOT_SOURCES + 2];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = random.nextInt(NODES);
+        }
+
+        int treeAnswers = 0;
+        for (int round = 0; round < 150; round++) {
+            for (int i = 0; i < 3; i++) {
+                int source = sources[random.nextInt(sources.length)];
+                int destination = random.nextInt(NODES);
+                Route route = engine.shortestPath(source, destination);
+                assertMatchesDijkstra("round " + round, graph, route);
+                if (source != destination && route.settledNodes() == 0) {
+                    treeAnswers++;
+                }
+            }
+            RandomEdit edit = RandomEdit.next(graph, 20, random);
+            graph = edit.after;
+            engine = engine.withEditedEdge(graph, edit.u, edit.v);
+        }
+        assertTrue(treeAnswers > 0, "no query was answered from a hot-source tree");
+    }
+
+    @Test
+    void concurrentQueriesMatchDijkstraWhileEdgesAreEdited() throws InterruptedException {
+        CsrGraph initial = RandomGraphs.grid(NODES, 20, 0.7, 20, SEED);
+        AtomicReference<RoutingEngine> current = new AtomicReference<>(new RoutingEngine(initial, HOT_SOURCES));
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            SplittableRandom random = new SplittableRandom(SEED + t);
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 1500; i++) {
+                        // Few sources, so they turn hot and their trees are shared between threads
+                        RoutingEngine engine = current.get();
+                        Route route = engine.shortestPath(random.nextInt(8), random.nextInt(NODES));
+                        assertMatchesDijkstra("query " + i, engine.graph(), route);
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        CsrGraph graph = initial;
+        for (int i = 0; i < 100; i++) {
+            RandomEdit edit = RandomEdit.next(graph, 20, random);
+            graph = edit.after;
+            current.set(current.get().withEditedEdge(graph, edit.u, edit.v));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.size() + " query threads failed", failures.get(0));
+        }
+    }
+
+    private static void assertRoutesMatchDijkstra(String when, RoutingEngine engine,
+            RoutingEngine.Algorithm algorithm, SplittableRandom random) {
+        int n = engine.graph().nodeCount();
+        for (int i = 0; i < QUERIES; i++) {
+            Route route = engine.shortestPath(random.nextInt(n), random.nextInt(n), algorithm);
+            assertMatchesDijkstra(when, engine.graph(), route);
+        }
+    }
+
+    private static void assertMatchesDijkstra(String when, CsrGraph graph, Route route) {
+        int expected = new ShortestPathEngine(graph).query(route.source(), route.destination());
+        String pair = route.source() + " -> " + route.destination();
+        assertEquals(expected, route.distance(), when + ": distance " + pair);
+        PathAssertions.assertPath(graph, route.source(), route.destination(), expected, route.nodes());
+    }
+}
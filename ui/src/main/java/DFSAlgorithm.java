@@ -0,0 +1,1608 @@
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Element;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+import org.graphstream.graph.implementations.SingleGraph;
+import org.graphstream.ui.swing_viewer.SwingViewer;
+import org.graphstream.ui.view.View;
+import org.graphstream.ui.view.Viewer;
+import routing.ConnectivityIndex;
+import routing.CsrGraph;
+import routing.DfsCursor;
+import routing.DfsStep;
+import routing.DfsReplay;
+import routing.GraphLoaders;
+import routing.GraphSnapshot;
+import routing.QueryMetrics;
+import routing.QueryStatistics;
+import routing.RandomGraphs;
+import routing.Route;
+import routing.RouteCache;
+import routing.RoutingEngine;
+import routing.StepKind;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import javax.swing.Timer;
+import javax.swing.border.TitledBorder;
+
+public class DFSAlgorithm {
+
+    // Gradient color constants
+    private static final Color GRADIENT_COLOR1 = new Color(255, 255, 255);  // Steel blue
+    private static final Color GRADIENT_COLOR2 = new Color(57, 57, 211);   // Dark blu
+
+    // Gradient color constants for log panel
+    private static final Color LOG_GRADIENT_START = new Color(148, 148, 207, 152);  // Dark blue
+    private static final Color LOG_GRADIENT_END = new Color(255, 255, 255);    // Medium blue
+
+    private static CsrGraph graphStore;
+    private static RoutingEngine routingEngine;
+    private static ConnectivityIndex connectivity;
+    private static final RouteCache routeCache = new RouteCache();
+    private static final QueryStatistics queryStatistics = new QueryStatistics();
+    private static final String DFS_METRICS_KIND = "Depth-first search";
+    // Drawing adds a GraphStream node and two combo box entries per node, which gets slow past this size
+    private static final int VIEW_NODE_LIMIT = 5_000;
+    // The all-pairs table takes O(n^3) time and O(n^2) memory; at this size that is a few seconds
+    private static final int ALL_PAIRS_NODE_LIMIT = 1_000;
+    private static boolean collectMetrics = true;
+    private static JFrame mainFrame;
+    private static Graph graph;
+    private static GraphIdRegistry registry;
+    private static RenderState renderState;
+    private static Viewer viewer;
+    private static boolean isVisualizingDFS = false;
+    private static final PlaybackScheduler playback = new PlaybackScheduler(DFSAlgorithm::updatePlaybackControls);
+    private static JPanel inputPanel;
+    private static String selectedSource = null;
+    private static String selectedDestination = null;
+    private static int visualizationSpeed = 1000;
+    private static int stepsPerTick = 1;
+    private static JComboBox<String> sourceComboBox;
+    private static JComboBox<String> destinationComboBox;
+    private static JComboBox<RoutingEngine.Algorithm> algorithmComboBox;
+    private static JPanel graphPanel;
+    private static JButton addNodeButton;
+    private static JButton removeNodeButton;
+    private static JButton addEdgeButton;
+    private static JButton removeEdgeButton;
+    private static JSpinner edgeWeightSpinner;
+    private static final LogBuffer logBuffer = new LogBuffer();
+    private static JList<String> logList;
+    private static JScrollPane logScrollPane;
+    private static JButton pauseButton;
+    private static JButton resumeButton;
+    private static JButton skipButton;
+    private static JSlider stepSlider;
+    private static JLabel stepLabel;
+    private static boolean updatingStepSlider = false;
+
+    public static void main(String[] args) {
+        System.setProperty("org.graphstream.ui", "swing");
+        SwingUtilities.invokeLater(() -> {
+            createMainWindow();
+            System.out.println("Application started successfully");
+        });
+    }
+
+    private static void createMainWindow() {
+        mainFrame = new JFrame("Graph Visualizer with DFS");
+        mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        mainFrame.setSize(1000, 700);
+        mainFrame.setLayout(new BorderLayout());
+
+        JPanel startPanel = new JPanel(new GridBagLayout()) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                GradientPaint gp = new GradientPaint(0, 0, GRADIENT_COLOR1, getWidth(), getHeight(), GRADIENT_COLOR2);
+                g2d.setPaint(gp);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+
+        // Add the text label
+        JLabel fullScreenLabel = new JLabel("For the best viewing experience, please switch to full-screen mode.");
+        fullScreenLabel.setFont(new Font("Arial", Font.BOLD, 19));
+        fullScreenLabel.setForeground(Color.RED);
+        fullScreenLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JButton startButton = createStyledButton("START GRAPH VISUALIZER", 24);
+        startButton.addActionListener(e -> showMainOptions());
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridwidth = GridBagConstraints.REMAINDER;
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        // Add the label first
+        startPanel.add(fullScreenLabel, gbc);
+        // Then add the button
+        startPanel.add(startButton, gbc);
+
+        mainFrame.add(startPanel, BorderLayout.CENTER);
+        mainFrame.setLocationRelativeTo(null);
+        mainFrame.setVisible(true);
+    }
+
+    private static JButton createStyledButton(String text, int fontSize) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.BOLD, fontSize));
+        button.setForeground(Color.WHITE);
+        button.setBackground(new Color(33, 76, 170));
+        button.setBorder(BorderFactory.createEmptyBorder(10, 25, 10, 25));
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                button.setBackground(new Color(4, 33, 89));
+            }
+
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(new Color(33, 76, 170));
+            }
+        });
+
+        return button;
+    }
+
+    private static void showMainOptions() {
+        mainFrame.getContentPane().removeAll();
+
+        // Create a panel with gradient background
+        JPanel optionsPanel = new JPanel(new GridBagLayout()) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                GradientPaint gp = new GradientPaint(0, 0, GRADIENT_COLOR1, getWidth(), getHeight(), GRADIENT_COLOR2);
+                g2d.setPaint(gp);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+        optionsPanel.setBorder(new EmptyBorder(50, 100, 50, 100));
+
+        // Create buttons with fixed width but same font size
+        JButton manualButton = createOptionButtonWithFixedWidth("Manual Input", 30, 700);
+        JButton randomButton = createOptionButtonWithFixedWidth("Generate Random", 30, 700);
+        JButton loadButton = createOptionButtonWithFixedWidth("Load Graph File", 30, 700);
+        JButton exitButton = createOptionButtonWithFixedWidth("Exit", 30, 700);
+
+        manualButton.addActionListener(e -> showManualInputPanel());
+        randomButton.addActionListener(e -> {
+            // Generate random graph with random parameters
+            Random rand = new Random();
+            int nodes = 5 + rand.nextInt(46); // 5-50 nodes (changed from 5-10)
+            int probability = 30 + rand.nextInt(71); // 30-100% probability
+            int maxWeight = 1 + rand.nextInt(20); // 1-20 weight
+
+            long seed = rand.nextLong();
+
+            generateRandomGraph(RandomGraphs.Topology.UNIFORM, nodes, probability, maxWeight, seed);
+            visualizeGraph();
+
+            // Select random source and destination
+            int source = rand.nextInt(nodes);
+            int destination;
+            do {
+                destination = rand.nextInt(nodes);
+            } while (destination == source);
+
+            selectedSource = registry.nodeId(source);
+            selectedDestination = registry.nodeId(destination);
+            sourceComboBox.setSelectedItem(selectedSource);
+            destinationComboBox.setSelectedItem(selectedDestination);
+            highlightSelectedNodes();
+
+            logMessage("[Random] Generated graph with " + nodes + " nodes (seed " + seed + ")");
+            logMessage("[Random] Selected source: " + selectedSource + ", destination: " + selectedDestination);
+
+            // Check if graph is disconnected
+            if (isGraphDisconnected()) {
+                logMessage("[Warning] Generated graph is disconnected - some nodes may not be reachable");
+            }
+
+        });
+
+        loadButton.addActionListener(e -> loadGraphFile());
+
+        exitButton.addActionListener(e -> System.exit(0));
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridwidth = GridBagConstraints.REMAINDER;
+        gbc.insets = new Insets(20, 10, 20, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        optionsPanel.add(manualButton, gbc);
+        optionsPanel.add(randomButton, gbc);
+        optionsPanel.add(loadButton, gbc);
+        optionsPanel.add(exitButton, gbc);
+
+        // Back panel with gradient background
+        JPanel backPanel = new JPanel(new FlowLayout(FlowLayout.LEFT)) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                GradientPaint gp = new GradientPaint(0, 0, GRADIENT_COLOR1, getWidth(), getHeight(), GRADIENT_COLOR2);
+                g2d.setPaint(gp);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+        backPanel.setOpaque(false);
+
+        JButton backButton = createStyledButton("Back", 14);
+        backButton.addActionListener(e -> createMainWindow());
+        backPanel.add(backButton);
+
+        mainFrame.add(backPanel, BorderLayout.NORTH);
+        mainFrame.add(optionsPanel, BorderLayout.CENTER);
+        mainFrame.revalidate();
+        mainFrame.repaint();
+    }
+
+    private static JButton createOptionButtonWithFixedWidth(String text, int fontSize, int width) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.BOLD, fontSize));
+        button.setForeground(Color.WHITE);
+        button.setBackground(new Color(33, 76, 170));
+        button.setBorder(BorderFactory.createEmptyBorder(10, 25, 10, 25));
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.setPreferredSize(new Dimension(width, button.getPreferredSize().height));
+
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                button.setBackground(new Color(4, 33, 89));
+            }
+
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(new Color(33, 76, 170));
+            }
+        });
+
+        return button;
+    }
+
+    private static JButton createOptionButton(String text) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        button.setForeground(Color.WHITE);
+        button.setBackground(new Color(33, 76, 170));
+        button.setBorder(BorderFactory.createEmptyBorder(10, 25, 10, 25));
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                button.setBackground(new Color(4, 33, 89));
+            }
+
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(new Color(33, 76, 170));
+            }
+        });
+
+        return button;
+    }
+
+    private static void showManualInputPanel() {
+        // Create a panel with gradient background
+        inputPanel = new JPanel(new BorderLayout()) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                GradientPaint gp = new GradientPaint(0, 0, GRADIENT_COLOR1, getWidth(), getHeight(), GRADIENT_COLOR2);
+                g2d.setPaint(gp);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+        inputPanel.setBorder(new EmptyBorder(50, 100, 50, 100));
+
+        // Create a centered panel for the controls
+        JPanel centerPanel = new JPanel(new GridBagLayout());
+        centerPanel.setOpaque(false); // Make transparent to show gradient
+
+        JLabel topologyLabel = new JLabel("Topology:");
+        topologyLabel.setForeground(Color.BLACK);
+        topologyLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+
+        JComboBox<RandomGraphs.Topology> topologyComboBox = new JComboBox<>(RandomGraphs.Topology.values());
+        topologyComboBox.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        topologyComboBox.setToolTipText("Edge probability sets the average degree; for grids it is the share of lattice edges kept");
+
+        JLabel nodesLabel = new JLabel("Number of nodes (2-50):");
+        nodesLabel.setForeground(Color.BLACK);
+        nodesLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+
+        JSpinner nodesSpinner = new JSpinner(new SpinnerNumberModel(5, 2, 50, 1));
+        nodesSpinner.setFont(new Font("Segoe UI", Font.PLAIN, 20));
+        styleSpinner(nodesSpinner);
+
+        JLabel probLabel = new JLabel("Edge probability (0%-150%):");
+        probLabel.setForeground(Color.BLACK);
+        probLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+
+        JSpinner probSpinner = new JSpinner(new SpinnerNumberModel(50, 0, 150, 5));
+        probSpinner.setFont(new Font("Segoe UI", Font.PLAIN, 20));
+        styleSpinner(probSpinner);
+
+        JLabel weightLabel = new JLabel("Max edge weight (1-100):");
+        weightLabel.setForeground(Color.BLACK);
+        weightLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+
+        JSpinner weightSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 100, 1));
+        weightSpinner.setFont(new Font("Segoe UI", Font.PLAIN, 20));
+        styleSpinner(weightSpinner);
+
+        JLabel seedLabel = new JLabel("Random seed (blank for a new one):");
+        seedLabel.setForeground(Color.BLACK);
+        seedLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+
+        JTextField seedField = new JTextField();
+        seedField.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        seedField.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+
+        JButton generateButton = createStyledButton("Generate and Visualize", 30);
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridwidth = GridBagConstraints.REMAINDER;
+        gbc.insets = new Insets(15, 10, 15, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.anchor = GridBagConstraints.CENTER;
+
+        centerPanel.add(topologyLabel, gbc);
+        centerPanel.add(topologyComboBox, gbc);
+        centerPanel.add(nodesLabel, gbc);
+        centerPanel.add(nodesSpinner, gbc);
+        centerPanel.add(probLabel, gbc);
+        centerPanel.add(probSpinner, gbc);
+        centerPanel.add(weightLabel, gbc);
+        centerPanel.add(weightSpinner, gbc);
+        centerPanel.add(seedLabel, gbc);
+        centerPanel.add(seedField, gbc);
+        centerPanel.add(Box.createVerticalStrut(2), gbc);
+        centerPanel.add(generateButton, gbc);
+
+        inputPanel.add(centerPanel, BorderLayout.CENTER);
+
+        generateButton.addActionListener(e -> {
+            int nodes = (Integer) nodesSpinner.getValue();
+            int probability = (Integer) probSpinner.getValue();
+            int maxWeight = (Integer) weightSpinner.getValue();
+            RandomGraphs.Topology topology = (RandomGraphs.Topology) topologyComboBox.getSelectedItem();
+            long seed;
+            try {
+                seed = seedField.getText().trim().isEmpty()
+                        ? new Random().nextLong()
+                        : Long.parseLong(seedField.getText().trim());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(mainFrame, "Seed must be a whole number",
+                        "Invalid Seed", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            generateRandomGraph(topology, nodes, probability, maxWeight, seed);
+            visualizeGraph();
+
+            // Let user select source and destination
+            logMessage("[Manual] Generated " + topology + " graph with " + nodes + " nodes (seed " + seed + ")");
+            logMessage("[Manual] Please select source and destination nodes");
+
+            // Check if graph is disconnected
+            if (isGraphDisconnected()) {
+                logMessage("[Warning] Generated graph is disconnected - some nodes may not be reachable");
+            }
+        });
+
+        // Back panel with gradient background
+        JPanel backPanel = new JPanel(new FlowLayout(FlowLayout.LEFT)) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                GradientPaint gp = new GradientPaint(0, 0, GRADIENT_COLOR1, getWidth(), getHeight(), GRADIENT_COLOR2);
+                g2d.setPaint(gp);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+        backPanel.setOpaque(false);
+
+        JButton backButton = createStyledButton("Back", 14);
+        backButton.addActionListener(e -> showMainOptions());
+        backPanel.add(backButton);
+
+        mainFrame.getContentPane().removeAll();
+        mainFrame.add(backPanel, BorderLayout.NORTH);
+        mainFrame.add(inputPanel, BorderLayout.CENTER);
+        mainFrame.revalidate();
+        mainFrame.repaint();
+    }
+
+    private static void styleSpinner(JSpinner spinner) {
+        spinner.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        spinner.setBackground(new Color(240, 240, 240));
+        spinner.setOpaque(true);
+
+        // Style the spinner buttons
+        Component editor = spinner.getEditor();
+        if (editor instanceof JSpinner.DefaultEditor) {
+            JFormattedTextField tf = ((JSpinner.DefaultEditor) editor).getTextField();
+            tf.setColumns(5);
+            tf.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+            tf.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 5));
+        }
+    }
+
+    private static void loadGraphFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Load DIMACS (.gr), METIS (.graph), snapshot (.csrg) or edge list file");
+        if (chooser.showOpenDialog(mainFrame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        GraphLoaders.Format format = GraphLoaders.Format.of(file);
+
+        // Large files take a while to parse, so they are read off the event thread
+        mainFrame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        long start = System.nanoTime();
+        new SwingWorker<CsrGraph, Void>() {
+            @Override
+            protected CsrGraph doInBackground() throws Exception {
+                return GraphLoaders.load(file, format);
+            }
+
+            @Override
+            protected void done() {
+                mainFrame.setCursor(Cursor.getDefaultCursor());
+                CsrGraph loaded;
+                try {
+                    loaded = get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(mainFrame,
+                            "Could not load " + file.getFileName() + ": " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                logMessage("[Load] Read " + format + " file " + file.getFileName() + ": " + loaded.nodeCount()
+                        + " nodes, " + loaded.edgeCount() + " edges in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                if (loaded.nodeCount() > VIEW_NODE_LIMIT && JOptionPane.showConfirmDialog(mainFrame,
+                        file.getFileName() + " has " + loaded.nodeCount() + " nodes. Drawing more than "
+                                + VIEW_NODE_LIMIT + " can take minutes and a lot of memory.\n"
+                                + "Replace the current graph and draw it anyway?",
+                        "Large Graph", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE) != JOptionPane.YES_OPTION) {
+                    logMessage("[Load] Kept the current graph; " + file.getFileName() + " was not drawn");
+                    return;
+                }
+                updateGraphStore(loaded);
+                visualizeGraph();
+            }
+        }.execute();
+    }
+
+    private static void saveGraphSnapshot() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new java.io.File("graph" + GraphSnapshot.EXTENSION));
+        if (chooser.showSaveDialog(mainFrame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        try {
+            new GraphSnapshot(graphStore).write(file);
+            logMessage("[Snapshot] Saved " + graphStore.nodeCount() + " nodes, " + graphStore.edgeCount()
+                    + " edges to " + file.getFileName());
+        } catch (java.io.IOException ex) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Could not save snapshot: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // Probability is a percentage; for the uniform topology values of 100 or more join every pair
+    private static void generateRandomGraph(RandomGraphs.Topology topology, int nodes, int probability,
+                                            int maxWeight, long seed) {
+        updateGraphStore(topology.generate(nodes, probability / 100.0, maxWeight, seed));
+    }
+
+    private static void updateGraphStore(CsrGraph newGraph) {
+        replaceGraphStore(newGraph);
+        connectivity = new ConnectivityIndex(newGraph);
+        routeCache.invalidateAll();
+    }
+
+    // Swaps in an edited graph; the caller reports the edit to the connectivity index
+    private static void replaceGraphStore(CsrGraph newGraph) {
+        graphStore = newGraph;
+        routingEngine = new RoutingEngine(newGraph, RoutingEngine.DEFAULT_HOT_SOURCES);
+        routingEngine.setStatistics(collectMetrics ? queryStatistics : null);
+    }
+
+    // Single-edge edits keep the node set, so the engine carries its landmarks over and repairs its hot-source trees
+    private static void updateGraphStoreEdge(CsrGraph newGraph, int u, int v) {
+        graphStore = newGraph;
+        routingEngine = routingEngine.withEditedEdge(newGraph, u, v);
+    }
+
+    private static boolean isGraphDisconnected() {
+        return connectivity == null || !connectivity.isConnected();
+    }
+
+    private static void visualizeGraph() {
+        if (graphStore == null || graphStore.nodeCount() == 0) {
+            JOptionPane.showMessageDialog(mainFrame, "No graph data to visualize", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Clear the main frame
+        mainFrame.getContentPane().removeAll();
+
+        // Initialize combo boxes
+        sourceComboBox = new JComboBox<>();
+        destinationComboBox = new JComboBox<>();
+        populateNodeComboBoxes();
+
+        // Panel for source and destination selection
+        JPanel selectionPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        selectionPanel.add(new JLabel("Source:"));
+        selectionPanel.add(sourceComboBox);
+        selectionPanel.add(new JLabel("Destination:"));
+        selectionPanel.add(destinationComboBox);
+
+        // Panel for topology modification controls
+        JPanel topologyPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+
+        // Add Node button
+        addNodeButton = new JButton("Add Node");
+        addNodeButton.addActionListener(e -> addNewNode());
+
+        // Remove Node button
+        removeNodeButton = new JButton("Remove Node");
+        removeNodeButton.addActionListener(e -> removeSelectedNode());
+
+        // Add Edge components
+        JPanel addEdgePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        addEdgePanel.add(new JLabel("Edge Weight:"));
+        edgeWeightSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 100, 1));
+        addEdgePanel.add(edgeWeightSpinner);
+        addEdgeButton = new JButton("Add Edge");
+        addEdgeButton.addActionListener(e -> addNewEdge());
+
+        // Remove Edge button
+        removeEdgeButton = new JButton("Remove Edge");
+        removeEdgeButton.addActionListener(e -> removeSelectedEdge());
+
+        // Add to the selectionPanel in visualizeGraph() method
+        JButton selectButton = new JButton("Select");
+        selectButton.addActionListener(e -> {
+            if (sourceComboBox.getSelectedItem() != null && destinationComboBox.getSelectedItem() != null) {
+                selectedSource = (String) sourceComboBox.getSelectedItem();
+                selectedDestination = (String) destinationComboBox.getSelectedItem();
+                highlightSelectedNodes();
+                logMessage("[Selection] Source set to " + selectedSource + ", Destination set to " + selectedDestination);
+            } else {
+                JOptionPane.showMessageDialog(mainFrame,
+                        "Please select both source and destination nodes first");
+            }
+        });
+
+        selectionPanel.add(selectButton);
+
+        topologyPanel.add(addNodeButton);
+        topologyPanel.add(removeNodeButton);
+        topologyPanel.add(addEdgePanel);
+        topologyPanel.add(addEdgeButton);
+        topologyPanel.add(removeEdgeButton);
+
+        // Panel for algorithm buttons
+        JPanel algorithmPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton dfsButton = createOptionButton("Run DFS");
+        JButton resetButton = createOptionButton("Reset Graph");
+        JButton backButton = new JButton("Back to Main Menu");
+
+        // Add pause and resume buttons
+        pauseButton = new JButton("Pause");
+        resumeButton = new JButton("Resume");
+        resumeButton.setEnabled(false);
+
+        skipButton = new JButton("Skip to End");
+        pauseButton.setEnabled(false);
+        skipButton.setEnabled(false);
+
+        // Button states follow the scheduler, which reports every frame, pause and seek
+        pauseButton.addActionListener(e -> {
+            if (playback.isRunning()) {
+                playback.pause();
+                logMessage("[Visualization] Paused at step " + playback.track().position());
+            }
+        });
+
+        resumeButton.addActionListener(e -> {
+            if (!playback.isRunning() && playback.track() != null) {
+                playback.resume();
+                logMessage("[Visualization] Resumed at step " + playback.track().position());
+            }
+        });
+
+        skipButton.addActionListener(e -> {
+            if (playback.track() != null) {
+                playback.skipToEnd();
+                logMessage("[Visualization] Skipped to step " + playback.track().position());
+            }
+        });
+
+        dfsButton.addActionListener(e -> {
+            selectedSource = (String) sourceComboBox.getSelectedItem();
+            selectedDestination = (String) destinationComboBox.getSelectedItem();
+            if (selectedSource != null && selectedDestination != null) {
+                logMessage("\n[Algorithm] Starting DFS traversal from " + selectedSource + " to " + selectedDestination);
+                startDFSTraversal();
+            } else {
+                JOptionPane.showMessageDialog(mainFrame,
+                        "Please select both source and destination nodes first!");
+            }
+        });
+
+        resetButton.addActionListener(e -> {
+            logMessage("[Reset] Graph visualization reset");
+            resetGraphColors();
+            selectedSource = null;
+            selectedDestination = null;
+        });
+
+        backButton.addActionListener(e -> showMainOptions());
+
+        JButton saveSnapshotButton = new JButton("Save Snapshot");
+        saveSnapshotButton.addActionListener(e -> saveGraphSnapshot());
+
+        // Shortest-path algorithm used once the DFS animation finishes
+        algorithmComboBox = new JComboBox<>(RoutingEngine.Algorithm.values());
+        updateAlgorithmChoices();
+        algorithmComboBox.addActionListener(e ->
+                logMessage("[Settings] Shortest path algorithm set to " + algorithmComboBox.getSelectedItem()));
+
+        algorithmPanel.add(dfsButton);
+        algorithmPanel.add(resetButton);
+        algorithmPanel.add(pauseButton);
+        algorithmPanel.add(resumeButton);
+        algorithmPanel.add(skipButton);
+        algorithmPanel.add(new JLabel("Path Algorithm:"));
+        algorithmPanel.add(algorithmComboBox);
+        algorithmPanel.add(saveSnapshotButton);
+        algorithmPanel.add(backButton);
+
+        // Add speed control to the control panel
+        JPanel speedPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JLabel speedLabel = new JLabel("Visualization Speed:");
+        JSlider speedSlider = new JSlider(JSlider.HORIZONTAL, 100, 1000, 800);
+        speedSlider.setMajorTickSpacing(300);
+        speedSlider.setMinorTickSpacing(100);
+        speedSlider.setPaintTicks(true);
+        speedSlider.setPaintLabels(true);
+        speedSlider.setSnapToTicks(true);
+
+// Create a label to show the current speed value
+        JLabel speedValueLabel = new JLabel("800 ms");
+        speedValueLabel.setPreferredSize(new Dimension(60, 20));
+
+        speedSlider.addChangeListener(e -> {
+            visualizationSpeed = speedSlider.getValue();
+            speedValueLabel.setText(visualizationSpeed + " ms");
+
+            playback.setRate(visualizationSpeed, stepsPerTick);
+            logMessage("[Settings] Visualization speed set to " + visualizationSpeed + " ms");
+        });
+
+        // Several steps per tick are applied together, in frames of at most 60 per second
+        JComboBox<Integer> stepsPerTickComboBox = new JComboBox<>(new Integer[]{1, 10, 100, 1000, 10000});
+        stepsPerTickComboBox.setSelectedItem(stepsPerTick);
+        stepsPerTickComboBox.addActionListener(e -> {
+            stepsPerTick = (Integer) stepsPerTickComboBox.getSelectedItem();
+            playback.setRate(visualizationSpeed, stepsPerTick);
+            logMessage("[Settings] Steps per tick set to " + stepsPerTick);
+        });
+
+        // Dragging the step slider pauses playback and shows the chosen step
+        stepSlider = new JSlider(JSlider.HORIZONTAL, 0, 0, 0);
+        stepSlider.setPreferredSize(new Dimension(200, 20));
+        stepLabel = new JLabel("Step 0 / 0");
+        stepLabel.setPreferredSize(new Dimension(130, 20));
+        stepSlider.addChangeListener(e -> {
+            if (!updatingStepSlider) {
+                playback.seek(stepSlider.getValue());
+            }
+        });
+
+        speedPanel.add(speedLabel);
+        speedPanel.add(speedSlider);
+        speedPanel.add(speedValueLabel);
+        speedPanel.add(new JLabel("Steps per tick:"));
+        speedPanel.add(stepsPerTickComboBox);
+        speedPanel.add(stepSlider);
+        speedPanel.add(stepLabel);
+        playback.setRate(visualizationSpeed, stepsPerTick);
+
+        // Add components to control panel
+        JPanel topControlPanel = new JPanel(new GridLayout(2, 1));
+        topControlPanel.add(selectionPanel);
+        topControlPanel.add(topologyPanel);
+
+        JPanel controlPanel = new JPanel(new BorderLayout());
+        controlPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        controlPanel.add(topControlPanel, BorderLayout.NORTH);
+        controlPanel.add(speedPanel, BorderLayout.CENTER);
+        controlPanel.add(algorithmPanel, BorderLayout.SOUTH);
+
+        // Create the graph panel
+        graphPanel = new JPanel(new BorderLayout());
+
+        // Initialize the graph
+        if (viewer != null) {
+            viewer.close();
+        }
+
+        VisualizerEvents.GraphConstruction construction = new VisualizerEvents.GraphConstruction();
+        construction.begin();
+        graph = new SingleGraph("Graph Visualization");
+        graph.setAttribute("ui.quality");
+        graph.setAttribute("ui.antialias");
+        graph.setAttribute("ui.stylesheet", getStylesheet());
+
+        // Create nodes and edges, registering each element under its store index
+        registry = new GraphIdRegistry(graph, graphStore);
+        renderState = new RenderState(graph);
+        if (construction.shouldCommit()) {
+            construction.nodeCount = graph.getNodeCount();
+            construction.edgeCount = graph.getEdgeCount();
+            construction.commit();
+        }
+
+        // Reset selections
+        selectedSource = null;
+        selectedDestination = null;
+
+        // Set up the viewer
+        System.setProperty("org.graphstream.ui.renderer", "org.graphstream.ui.j2dviewer.J2DGraphRenderer");
+        viewer = new SwingViewer(graph, Viewer.ThreadingModel.GRAPH_IN_GUI_THREAD);
+        View view = viewer.addDefaultView(false);
+        viewer.enableAutoLayout();
+
+        // Add the view to the graph panel
+        graphPanel.add((Component) view, BorderLayout.CENTER);
+
+        // Create a main content panel with BorderLayout
+        JPanel mainContentPanel = new JPanel(new BorderLayout());
+
+        // Create a panel for graph and controls (left side)
+        JPanel leftPanel = new JPanel(new BorderLayout());
+        leftPanel.add(controlPanel, BorderLayout.NORTH);
+        leftPanel.add(graphPanel, BorderLayout.CENTER);
+
+        // Create log panel (right side) with gradient background
+        // Create log panel (right side) with custom gradient background
+        JPanel logPanel = new JPanel(new BorderLayout()) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                GradientPaint gp = new GradientPaint(
+                        0, 0, LOG_GRADIENT_START,
+                        getWidth(), getHeight(), LOG_GRADIENT_END
+                );
+                g2d.setPaint(gp);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+
+// Configure log list; a prototype row fixes the cell size, so only visible rows are laid out
+        logList = new JList<>(logBuffer) {
+            @Override
+            public String getToolTipText(java.awt.event.MouseEvent event) {
+                // Lines wider than the panel are cut off; the tooltip shows them in full
+                int index = locationToIndex(event.getPoint());
+                return index >= 0 ? getModel().getElementAt(index) : null;
+            }
+        };
+        logList.setFont(new Font("Arial", Font.PLAIN, 14));
+        logList.setForeground(Color.BLACK);
+        logList.setPrototypeCellValue("[Pathfinding] Settled 000000 nodes of 000000, distance 000000");
+        logList.setOpaque(false);
+        logList.setBackground(new Color(0, 0, 0, 0)); // Fully transparent
+        logList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                setOpaque(isSelected);
+                return this;
+            }
+        });
+        ToolTipManager.sharedInstance().registerComponent(logList);
+        logBuffer.setFlushListener(() -> logList.ensureIndexIsVisible(logBuffer.getSize() - 1));
+
+// Configure scroll pane
+        logScrollPane = new JScrollPane(logList);
+        logScrollPane.setOpaque(false);
+        logScrollPane.getViewport().setOpaque(false);
+        logScrollPane.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(new Color(0, 0, 255)),
+                "Algorithm Log",
+                TitledBorder.LEFT,
+                TitledBorder.TOP,
+                new Font("Arial", Font.BOLD, 14),
+                new Color(0, 0, 255) // Light blue text color
+        ));
+
+        logPanel.add(logScrollPane, BorderLayout.CENTER);
+
+        // The view keeps the last lines only; the full log can be copied to a file
+        JCheckBox spillCheckBox = new JCheckBox("Copy log to file", logBuffer.spillPath() != null);
+        spillCheckBox.setOpaque(false);
+        spillCheckBox.addActionListener(e -> {
+            if (!spillCheckBox.isSelected()) {
+                logMessage("[Log] Stopped copying log to " + logBuffer.spillPath());
+                logBuffer.stopSpill();
+                return;
+            }
+            JFileChooser chooser = new JFileChooser();
+            chooser.setSelectedFile(new java.io.File("dfs-log.txt"));
+            if (chooser.showSaveDialog(mainFrame) != JFileChooser.APPROVE_OPTION) {
+                spillCheckBox.setSelected(false);
+                return;
+            }
+            try {
+                logBuffer.startSpill(chooser.getSelectedFile().toPath());
+                logMessage("[Log] Copying log to " + logBuffer.spillPath());
+            } catch (java.io.IOException ex) {
+                spillCheckBox.setSelected(false);
+                JOptionPane.showMessageDialog(mainFrame,
+                        "Could not open log file: " + ex.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        // Counters of every query, aggregated per algorithm, below the log
+        QueryStatsPanel statsPanel = new QueryStatsPanel(queryStatistics, collectMetrics, statistics -> {
+            collectMetrics = statistics != null;
+            routingEngine.setStatistics(statistics);
+            logMessage("[Metrics] Query metrics " + (collectMetrics ? "enabled" : "disabled"));
+        });
+        JPanel logFooter = new JPanel(new BorderLayout());
+        logFooter.setOpaque(false);
+        logFooter.add(statsPanel, BorderLayout.CENTER);
+        logFooter.add(spillCheckBox, BorderLayout.SOUTH);
+        logPanel.add(logFooter, BorderLayout.SOUTH);
+
+        // Use JSplitPane to divide left and right panels
+        JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, leftPanel, logPanel);
+        splitPane.setResizeWeight(0.85); // Give even more space to the graph (changed from 0.7)
+        splitPane.setDividerLocation(700); // Initial divider position (changed from 700)
+        splitPane.setDividerSize(5); // Make the divider a bit thicker for better visibility
+
+        // Add the split pane to the main content panel
+        mainContentPanel.add(splitPane, BorderLayout.CENTER);
+
+        // Add container to main frame
+        mainFrame.add(mainContentPanel, BorderLayout.CENTER);
+
+        // Set up node selection
+        setupNodeSelection();
+
+        // Initial log message
+        logMessage("[System] Graph visualization initialized with " + graphStore.nodeCount() + " nodes");
+
+        // Check if graph is disconnected
+        if (isGraphDisconnected()) {
+            logMessage("[Warning] Graph is disconnected - some nodes may not be reachable");
+        }
+
+        // Refresh the frame
+        mainFrame.revalidate();
+        mainFrame.repaint();
+    }
+
+    private static void logMessage(String message) {
+        // Messages are batched and shown once per frame, however many are logged in between
+        logBuffer.append(message);
+    }
+
+    private static void highlightSelectedNodes() {
+        // Reset highlighted nodes to the default color first
+        renderState.clearNodes();
+
+        // Highlight source node in green
+        if (selectedSource != null && graph.getNode(selectedSource) != null) {
+            renderState.setClass(graph.getNode(selectedSource), "source");
+        }
+
+        // Highlight destination node in red
+        if (selectedDestination != null && graph.getNode(selectedDestination) != null) {
+            renderState.setClass(graph.getNode(selectedDestination), "destination");
+        }
+    }
+
+    private static void addNewNode() {
+        VisualizerEvents.TopologyEdit event = new VisualizerEvents.TopologyEdit();
+        event.begin();
+
+        // Append an isolated node to the graph store
+        replaceGraphStore(graphStore.withNode());
+        connectivity.addNode();
+        routeCache.nodeAdded();
+
+        // Add node to graph
+        String newNodeId = registry.addNode(graphStore).getId();
+        commitTopologyEdit(event, "addNode", newNodeId);
+
+        logMessage("[Modification] Added new node " + newNodeId);
+
+        // Update UI
+        populateNodeComboBoxes();
+        updateAlgorithmChoices();
+        setupNodeSelection();
+
+        // Check if graph is now disconnected
+        if (isGraphDisconnected()) {
+            logMessage("[Warning] Graph is disconnected - some nodes may not be reachable");
+        }
+    }
+
+    private static void removeSelectedNode() {
+        if (selectedSource == null && selectedDestination == null) {
+            JOptionPane.showMessageDialog(mainFrame, "Please select a node first by clicking on it");
+            return;
+        }
+
+        String nodeToRemove = selectedSource != null ? selectedSource : selectedDestination;
+        int nodeIndex = registry.indexOf(nodeToRemove);
+
+        // Confirm removal
+        int confirm = JOptionPane.showConfirmDialog(mainFrame,
+                "Remove node " + nodeToRemove + " and all its connections?",
+                "Confirm Removal", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        // Update graph store, then remove from graph (later nodes shift down one index)
+        VisualizerEvents.TopologyEdit event = new VisualizerEvents.TopologyEdit();
+        event.begin();
+        replaceGraphStore(graphStore.withoutNode(nodeIndex));
+        registry.removeNode(nodeIndex, graphStore);
+        connectivity.removeNode(graphStore);
+        routeCache.invalidateAll();
+        commitTopologyEdit(event, "removeNode", nodeToRemove);
+
+        logMessage("[Modification] Removed node " + nodeToRemove + " and all its connections");
+
+        // Reset selections
+        selectedSource = null;
+        selectedDestination = null;
+
+        // Update UI
+        populateNodeComboBoxes();
+        updateAlgorithmChoices();
+        setupNodeSelection();
+
+        // Check if graph is now disconnected
+        if (isGraphDisconnected()) {
+            logMessage("[Warning] Graph is disconnected - some nodes may not be reachable");
+        }
+    }
+
+    private static void addNewEdge() {
+        if (selectedSource == null || selectedDestination == null) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Please select both source and destination nodes first");
+            return;
+        }
+
+        if (selectedSource.equals(selectedDestination)) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Cannot create edge from a node to itself");
+            return;
+        }
+
+        int weight = (Integer) edgeWeightSpinner.getValue();
+
+        // Check for negative weights
+        if (weight < 0) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Negative edge weights are not supported",
+                    "Invalid Weight", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        int sourceIndex = registry.indexOf(selectedSource);
+        int destIndex = registry.indexOf(selectedDestination);
+
+        // Check if edge already exists
+        if (graphStore.hasEdge(sourceIndex, destIndex)) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Edge already exists between these nodes");
+            return;
+        }
+
+        // Add edge to graph store
+        VisualizerEvents.TopologyEdit event = new VisualizerEvents.TopologyEdit();
+        event.begin();
+        updateGraphStoreEdge(graphStore.withEdge(sourceIndex, destIndex, weight), sourceIndex, destIndex);
+        connectivity.addEdge(sourceIndex, destIndex);
+        routeCache.edgeAdded(sourceIndex, destIndex, weight);
+
+        // Add edge to graph
+        Edge edge = registry.addEdge(sourceIndex, destIndex, weight, graphStore);
+        commitTopologyEdit(event, "addEdge", edge.getId());
+        logMessage("[Modification] Added edge " + edge.getId() + " between " +
+                selectedSource + " and " + selectedDestination + " with weight " + weight);
+    }
+
+    private static void removeSelectedEdge() {
+        if (selectedSource == null || selectedDestination == null) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Please select both source and destination nodes of the edge to remove");
+            return;
+        }
+
+        int sourceIndex = registry.indexOf(selectedSource);
+        int destIndex = registry.indexOf(selectedDestination);
+
+        // Check if edge exists
+        if (!graphStore.hasEdge(sourceIndex, destIndex)) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "No edge exists between these nodes");
+            return;
+        }
+
+        // Remove edge from graph store
+        VisualizerEvents.TopologyEdit event = new VisualizerEvents.TopologyEdit();
+        event.begin();
+        String edgeId = registry.edgeBetween(sourceIndex, destIndex).getId();
+        updateGraphStoreEdge(graphStore.withoutEdge(sourceIndex, destIndex), sourceIndex, destIndex);
+        connectivity.removeEdge(sourceIndex, destIndex, graphStore);
+        routeCache.edgeRemoved(sourceIndex, destIndex);
+
+        // Remove edge from graph
+        registry.removeEdge(sourceIndex, destIndex, graphStore);
+        commitTopologyEdit(event, "removeEdge", edgeId);
+        logMessage("[Modification] Removed edge " + edgeId + " between " +
+                selectedSource + " and " + selectedDestination);
+
+        // Check if graph is now disconnected
+        if (isGraphDisconnected()) {
+            logMessage("[Warning] Graph is disconnected - some nodes may not be reachable");
+        }
+    }
+
+    // Ends a topology edit event once the store, index, cache and GraphStream graph agree again
+    private static void commitTopologyEdit(VisualizerEvents.TopologyEdit event, String operation, String element) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.element = element;
+            event.nodeCount = graphStore.nodeCount();
+            event.edgeCount = graphStore.edgeCount();
+            event.componentCount = connectivity.componentCount();
+            event.commit();
+        }
+    }
+
+    private static void populateNodeComboBoxes() {
+        if (sourceComboBox == null || destinationComboBox == null) {
+            return; // Combo boxes not initialized yet
+        }
+
+        sourceComboBox.removeAllItems();
+        destinationComboBox.removeAllItems();
+
+        for (int i = 0; i < graphStore.nodeCount(); i++) {
+            String nodeId = registry.nodeId(i);
+            sourceComboBox.addItem(nodeId);
+            destinationComboBox.addItem(nodeId);
+        }
+    }
+
+    private static void startDFSTraversal() {
+        if (isVisualizingDFS) return;
+
+        if (selectedSource == null || selectedDestination == null) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Please select both source and destination nodes first!",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Check if graph is disconnected
+        if (isGraphDisconnected()) {
+            logMessage("[Warning] Graph is disconnected - some nodes may not be reachable");
+        }
+
+        viewer.disableAutoLayout();
+        isVisualizingDFS = true;
+
+        // Reset all nodes and edges
+        resetGraphColors();
+
+        logMessage("\n[Algorithm] Starting DFS traversal from " + selectedSource + " to " + selectedDestination);
+        logMessage("[Algorithm] Step-by-step traversal:");
+
+        // Steps are produced as they are played, so the first frame shows without running the whole search
+        int source = registry.indexOf(selectedSource);
+        int destination = registry.indexOf(selectedDestination);
+        DfsPlayback traversal = new DfsPlayback(routingEngine.traversalCursor(source, destination), source, destination);
+        traversal.seek(0);
+        playback.play(traversal, 1);
+    }
+
+    private static void finishDFSTraversal(String message) {
+        isVisualizingDFS = false;
+        viewer.enableAutoLayout();
+        logMessage(message);
+        highlightShortestPath();
+    }
+
+    private static void updatePlaybackControls() {
+        if (stepSlider == null) {
+            return;
+        }
+        PlaybackScheduler.Track track = playback.track();
+        boolean running = playback.isRunning();
+        int position = track != null ? track.position() : 0;
+        int length = track != null ? track.length() : 0;
+
+        updatingStepSlider = true;
+        stepSlider.setMaximum(length);
+        stepSlider.setValue(position);
+        updatingStepSlider = false;
+        stepLabel.setText("Step " + position + " / " + length);
+
+        pauseButton.setEnabled(running);
+        resumeButton.setEnabled(!running && track != null && !track.ended());
+        skipButton.setEnabled(track != null && !track.ended());
+    }
+
+    // Plays a DFS cursor one step at a time. Earlier steps are shown again by rewinding
+    // the cursor to a checkpoint and replaying from there, so no per-step trace is kept
+    private static final class DfsPlayback implements PlaybackScheduler.Track {
+        private final DfsReplay replay;
+        private final VisualizerEvents.DfsTraversal event = new VisualizerEvents.DfsTraversal();
+        private final int source;
+        private final int destination;
+        // Number of steps shown before the traversal counts as finished, -1 until reached
+        private int end = -1;
+
+        DfsPlayback(DfsCursor cursor, int source, int destination) {
+            this.replay = new DfsReplay(cursor);
+            this.source = source;
+            this.destination = destination;
+            event.begin();
+        }
+
+        @Override
+        public void step() {
+            // Reset previous highlights
+            if (replay.position() > 0) {
+                int previousArc = DfsStep.arc(replay.step());
+                if (previousArc >= 0) {
+                    renderState.clearClass(registry.edgeForArc(previousArc));
+                }
+            }
+            advance();
+            long step = replay.step();
+            int position = replay.position();
+
+            // Apply current step highlights; per-step logs would flood the log at high rates
+            switch (DfsStep.kind(step)) {
+                case VISIT:
+                    Node node = registry.node(DfsStep.node(step));
+                    renderState.setClass(node, "current");
+                    if (stepsPerTick == 1) {
+                        logMessage("[Step " + position + "] Visiting node: " + node.getId());
+                    }
+                    break;
+                case CONSIDER:
+                    renderState.setClass(registry.edgeForArc(DfsStep.arc(step)), "considered");
+                    break;
+                case ALL_VISITED:
+                    break;
+            }
+        }
+
+        @Override
+        public void seek(int target) {
+            if (target > replay.produced() && end < 0) {
+                replay.seek(replay.produced());
+                while (replay.position() < target && end < 0) {
+                    advance();
+                }
+            }
+            replay.seek(Math.max(0, Math.min(target, replay.produced())));
+
+            // The view after a step is every node visited so far, plus the arc under consideration
+            DfsCursor cursor = replay.cursor();
+            renderState.clearAll();
+            renderState.setClass(registry.node(source), "source");
+            renderState.setClass(registry.node(destination), "destination");
+            for (int node = 0; node < cursor.graph().nodeCount(); node++) {
+                if (cursor.isVisited(node)) {
+                    renderState.setClass(registry.node(node), "current");
+                }
+            }
+            if (replay.position() > 0 && DfsStep.kind(replay.step()) == StepKind.CONSIDER) {
+                renderState.setClass(registry.edgeForArc(DfsStep.arc(replay.step())), "considered");
+            }
+        }
+
+        @Override
+        public int position() {
+            return replay.position();
+        }
+
+        @Override
+        public int length() {
+            return replay.produced();
+        }
+
+        @Override
+        public boolean ended() {
+            return end >= 0 && replay.position() == end;
+        }
+
+        @Override
+        public void finished() {
+            DfsCursor cursor = replay.cursor();
+            logMessage("[Algorithm] Traversal took " + end + " steps and visited "
+                    + cursor.visitedCount() + " nodes");
+            QueryMetrics metrics = cursor.metrics();
+            if (collectMetrics) {
+                queryStatistics.record(DFS_METRICS_KIND, metrics);
+                logMessage("[Metrics] " + metrics);
+            }
+            if (event.shouldCommit()) {
+                event.source = registry.nodeId(source);
+                event.destination = registry.nodeId(destination);
+                event.nodeCount = cursor.graph().nodeCount();
+                event.steps = end;
+                event.visitedNodes = metrics.settledNodes();
+                event.consideredArcs = metrics.scannedArcs();
+                event.peakDepth = metrics.peakFrontier();
+                event.commit();
+            }
+            if (DfsStep.kind(replay.step()) == StepKind.ALL_VISITED) {
+                logMessage("[Completion] All nodes have been visited");
+                finishDFSTraversal("[Algorithm] All nodes visited - proceeding to find shortest path");
+            } else {
+                finishDFSTraversal("[Algorithm] DFS traversal completed");
+            }
+        }
+
+        // The traversal is shown up to the first step at which every node is visited
+        private void advance() {
+            replay.advance();
+            if (end < 0 && (!replay.cursor().hasNext() || DfsStep.kind(replay.step()) == StepKind.ALL_VISITED)) {
+                end = replay.position();
+            }
+        }
+    }
+
+    // Highlights a route one node at a time; seeking back restores what the route covered
+    private static final class PathPlayback implements PlaybackScheduler.Track {
+        private final Route route;
+        private final int[] path;
+        private final Edge[] edges;
+        private final String[] nodeClasses;
+        private final String[] edgeClasses;
+        private int position;
+
+        PathPlayback(Route route) {
+            this.route = route;
+            this.path = route.nodes();
+            this.edges = new Edge[path.length];
+            this.nodeClasses = new String[path.length];
+            this.edgeClasses = new String[path.length];
+            for (int i = 0; i < path.length; i++) {
+                nodeClasses[i] = renderState.classOf(registry.node(path[i]));
+                if (i > 0) {
+                    edges[i] = registry.edgeBetween(path[i - 1], path[i]);
+                    edgeClasses[i] = edges[i] != null ? renderState.classOf(edges[i]) : null;
+                }
+            }
+        }
+
+        @Override
+        public void step() {
+            show(position, true);
+            position++;
+        }
+
+        @Override
+        public void seek(int target) {
+            int next = Math.max(0, Math.min(target, path.length));
+            for (int i = Math.min(position, next); i < Math.max(position, next); i++) {
+                show(i, i < next);
+            }
+            position = next;
+        }
+
+        @Override
+        public int position() {
+            return position;
+        }
+
+        @Override
+        public int length() {
+            return path.length;
+        }
+
+        @Override
+        public boolean ended() {
+            return position == path.length;
+        }
+
+        @Override
+        public void finished() {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Shortest path distance: " + route.distance(),
+                    "Path Found", JOptionPane.INFORMATION_MESSAGE);
+        }
+
+        private void show(int i, boolean onPath) {
+            restore(registry.node(path[i]), onPath ? "path" : nodeClasses[i]);
+            if (edges[i] != null) {
+                restore(edges[i], onPath ? "path" : edgeClasses[i]);
+            }
+        }
+
+        private void restore(Element element, String cls) {
+            if (cls != null) {
+                renderState.setClass(element, cls);
+            } else {
+                renderState.clearClass(element);
+            }
+        }
+    }
+
+    // Hides the all-pairs table on graphs too large to build it, switching to Dijkstra if it was selected
+    private static void updateAlgorithmChoices() {
+        RoutingEngine.Algorithm allPairs = RoutingEngine.Algorithm.ALL_PAIRS;
+        boolean offered = ((DefaultComboBoxModel<RoutingEngine.Algorithm>) algorithmComboBox.getModel())
+                .getIndexOf(allPairs) >= 0;
+        if (graphStore.nodeCount() <= ALL_PAIRS_NODE_LIMIT) {
+            if (!offered) {
+                algorithmComboBox.insertItemAt(allPairs, allPairs.ordinal());
+            }
+        } else if (offered) {
+            if (algorithmComboBox.getSelectedItem() == allPairs) {
+                algorithmComboBox.setSelectedItem(RoutingEngine.Algorithm.DIJKSTRA);
+            }
+            algorithmComboBox.removeItem(allPairs);
+            logMessage("[Settings] " + allPairs + " is only offered up to " + ALL_PAIRS_NODE_LIMIT + " nodes");
+        }
+    }
+
+    private static void highlightShortestPath() {
+        RoutingEngine.Algorithm algorithm = (RoutingEngine.Algorithm) algorithmComboBox.getSelectedItem();
+        logMessage("\n[Pathfinding] Starting " + algorithm + " to find shortest path");
+        logMessage("[Pathfinding] Source: " + selectedSource + ", Destination: " + selectedDestination);
+
+        int sourceIndex = registry.indexOf(selectedSource);
+        int destinationIndex = registry.indexOf(selectedDestination);
+
+        // Repeated queries are answered from the cache until an edit could change them
+        Route cached = routeCache.get(sourceIndex, destinationIndex);
+        if (cached == null && !routingEngine.isPrepared(algorithm)) {
+            prepareAndHighlight(algorithm, sourceIndex, destinationIndex);
+            return;
+        }
+        showShortestPath(algorithm, sourceIndex, destinationIndex, cached);
+    }
+
+    // Preprocessing can take minutes on a large graph, so it runs off the event thread
+    private static void prepareAndHighlight(RoutingEngine.Algorithm algorithm, int sourceIndex, int destinationIndex) {
+        RoutingEngine engine = routingEngine;
+        logMessage("[Pathfinding] Preparing " + algorithm + " for " + engine.graph().nodeCount() + " nodes");
+        mainFrame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        long start = System.nanoTime();
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                engine.prepare(algorithm);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                mainFrame.setCursor(Cursor.getDefaultCursor());
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    logMessage("[Pathfinding] Could not prepare " + algorithm + ": " + cause.getMessage());
+                    JOptionPane.showMessageDialog(mainFrame,
+                            "Could not prepare " + algorithm + ": " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                logMessage("[Pathfinding] Prepared " + algorithm + " in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+                if (engine != routingEngine) {
+                    // An edit replaced the engine meanwhile; its preprocessing belongs to the new graph
+                    logMessage("[Pathfinding] The graph changed while preparing; starting over");
+                    if (selectedSource != null && selectedDestination != null) {
+                        highlightShortestPath();
+                    }
+                    return;
+                }
+                showShortestPath(algorithm, sourceIndex, destinationIndex, null);
+            }
+        }.execute();
+    }
+
+    private static void showShortestPath(RoutingEngine.Algorithm algorithm, int sourceIndex, int destinationIndex,
+                                         Route cached) {
+        VisualizerEvents.Pathfinding event = new VisualizerEvents.Pathfinding();
+        event.begin();
+        Route route;
+        if (cached != null) {
+            route = cached;
+            logMessage("[Cache] Hit for version " + routeCache.version() + " (hits: " + routeCache.hits()
+                    + ", misses: " + routeCache.misses() + ")");
+        } else {
+            route = routingEngine.shortestPath(sourceIndex, destinationIndex, algorithm);
+            routeCache.put(route);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm.toString();
+            event.source = selectedSource;
+            event.destination = selectedDestination;
+            event.cacheHit = cached != null;
+            event.distance = route.isFound() ? route.distance() : -1;
+            event.pathLength = route.length();
+            event.settledNodes = cached != null ? 0 : route.settledNodes();
+            event.commit();
+        }
+
+        // Handle case where destination is unreachable (a path needs at least one edge)
+        if (route.length() < 2) {
+            logMessage("[Pathfinding] Destination node is unreachable from source");
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Destination node is unreachable from source!",
+                    "Path Not Found", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        // Highlight the shortest path
+        int[] path = route.nodes();
+        StringBuilder pathText = new StringBuilder();
+        for (int i = 0; i < path.length; i++) {
+            if (i > 0) {
+                pathText.append(" -> ");
+            }
+            pathText.append(registry.nodeId(path[i]));
+        }
+
+        logMessage("[Pathfinding] Path found! Total distance: " + route.distance());
+        logMessage("[Pathfinding] Path: " + pathText);
+        // A cached route did no search now; its counts belong to the query that filled the cache
+        if (cached == null) {
+            logMessage("[Pathfinding] Settled " + route.settledNodes() + " nodes");
+            if (collectMetrics && route.metrics().isTimed()) {
+                logMessage("[Metrics] " + route.metrics());
+            }
+        }
+
+        // The path is drawn at twice the traversal rate
+        playback.play(new PathPlayback(route), 2);
+    }
+
+    private static void setupNodeSelection() {
+        graph.nodes().forEach(node -> {
+            node.removeAttribute("ui.click");
+        });
+
+        graph.nodes().forEach(node -> {
+            node.setAttribute("ui.click", (Runnable) () -> {
+                handleNodeSelection(node, node.getId());
+            });
+        });
+    }
+
+    private static void handleNodeSelection(org.graphstream.graph.Node node, String nodeId) {
+        // Just update the combo boxes without changing colors
+        if (selectedSource == null) {
+            selectedSource = nodeId;
+            sourceComboBox.setSelectedItem(nodeId);
+            logMessage("[Selection] Source node set to " + nodeId);
+        }
+        else if (selectedDestination == null && !nodeId.equals(selectedSource)) {
+            selectedDestination = nodeId;
+            destinationComboBox.setSelectedItem(nodeId);
+            logMessage("[Selection] Destination node set to " + nodeId);
+        }
+        else {
+            if (nodeId.equals(selectedSource)) {
+                selectedSource = null;
+                sourceComboBox.setSelectedItem(null);
+                logMessage("[Selection] Source node cleared");
+            } else if (nodeId.equals(selectedDestination)) {
+                selectedDestination = null;
+                destinationComboBox.setSelectedItem(null);
+                logMessage("[Selection] Destination node cleared");
+            }
+        }
+    }
+
+    private static void resetGraphColors() {
+        playback.stop();
+        isVisualizingDFS = false;
+
+        if (viewer != null) {
+            viewer.disableAutoLayout();
+        }
+
+        // Only elements that carry a class need resetting; the stylesheet supplies the defaults
+        renderState.clearAll();
+
+        if (viewer != null) {
+            viewer.enableAutoLayout();
+        }
+    }
+
+    private static String getStylesheet() {
+        return """
+        node {
+            size: 30px;
+            fill-color: lightblue;
+            stroke-mode: plain;
+            stroke-color: #333;
+            stroke-width: 2px;
+            text-size: 20;
+            text-color: black;
+        }
+        node.source {
+            fill-color: green;
+            size: 35px;
+        }
+        node.destination {
+            fill-color: red;
+            size: 35px;
+        }
+        node.visited {
+            fill-color: #1F598C;
+            size: 30px;
+        }
+        node.path {
+            fill-color: purple;
+            size: 35px;
+        }
+        node.current {
+            fill-color: yellow;
+            size: 40px;
+        }
+        edge {
+            size: 2px;
+            fill-color: #777;
+            arrow-size: 10px, 4px;
+        }
+        edge.considered {
+            fill-color: red;
+            size: 4px;
+        }
+        edge.backtrack {
+            fill-color: gray;
+            size: 2px;
+            arrow-shape: none;
+        }
+        edge.path {
+            fill-color: blue;
+            size: 4px;
+        }
+        """;
+    }
+}
\ No newline at end of file
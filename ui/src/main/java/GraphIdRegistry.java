@@ -0,0 +1,172 @@
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+import routing.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Two-way mapping between the dense int indices of the graph store and the GraphStream
+ * elements that display them.
+ *
+ * Every node and edge gets its GraphStream id once, when it is created. After that,
+ * index -> element lookups are array reads and element -> index lookups read an
+ * attribute stored on the node, so algorithm steps, which speak in node and arc
+ * indices, never build or parse id strings. Edges are looked up by arc index; both
+ * arcs of an undirected edge map to the same Edge.
+ *
+ * Node ids carry a number that is never reused. Removing a node shifts the indices
+ * of the later nodes down, as in the store, but their ids and labels stay the same.
+ */
+class GraphIdRegistry {
+
+    private static final String INDEX_ATTRIBUTE = "routing.index";
+
+    private final Graph graph;
+    private CsrGraph store;
+    private Node[] nodes;
+    private int[] idNumbers;
+    private int nodeCount;
+    private Edge[] edgeByArc;
+    private int nextIdNumber;
+
+    /** Creates GraphStream nodes and edges for every node and edge of store. */
+    GraphIdRegistry(Graph graph, CsrGraph store) {
+        this.graph = graph;
+        this.store = store;
+        int n = store.nodeCount();
+        nodes = new Node[Math.max(n, 4)];
+        idNumbers = new int[nodes.length];
+        edgeByArc = new Edge[store.arcCount()];
+
+        for (int i = 0; i < n; i++) {
+            createNode(i);
+        }
+        for (int u = 0; u < n; u++) {
+            for (int arc = store.firstArc(u); arc < store.endArc(u); arc++) {
+                int v = store.arcTarget(arc);
+                if (v > u) {
+                    Edge edge = createEdge(u, v, store.arcWeight(arc));
+                    edgeByArc[arc] = edge;
+                    edgeByArc[store.findArc(v, u)] = edge;
+                }
+            }
+        }
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    Node node(int index) {
+        return nodes[index];
+    }
+
+    String nodeId(int index) {
+        return nodes[index].getId();
+    }
+
+    int indexOf(Node node) {
+        return (Integer) node.getAttribute(INDEX_ATTRIBUTE);
+    }
+
+    /** Index of the node with the given GraphStream id, or -1 if there is none. */
+    int indexOf(String nodeId) {
+        Node node = nodeId != null ? graph.getNode(nodeId) : null;
+        return node != null ? indexOf(node) : -1;
+    }
+
+    Edge edgeForArc(int arc) {
+        return edgeByArc[arc];
+    }
+
+    /** Edge between nodes u and v, or null if they are not adjacent. */
+    Edge edgeBetween(int u, int v) {
+        int arc = store.findArc(u, v);
+        return arc >= 0 ? edgeByArc[arc] : null;
+    }
+
+    /** Registers a node appended to the store; edited must be the store with the new node. */
+    Node addNode(CsrGraph edited) {
+        if (nodeCount == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodeCount * 2);
+            idNumbers = Arrays.copyOf(idNumbers, nodeCount * 2);
+        }
+        Node node = createNode(nodeCount);
+        store = edited;
+        return node;
+    }
+
+    /** Removes the node at index and renumbers the later nodes; edited must be the store without it. */
+    void removeNode(int index, CsrGraph edited) {
+        graph.removeNode(nodes[index]);
+        CsrGraph previous = store;
+        System.arraycopy(nodes, index + 1, nodes, index, nodeCount - index - 1);
+        System.arraycopy(idNumbers, index + 1, idNumbers, index, nodeCount - index - 1);
+        nodeCount--;
+        nodes[nodeCount] = null;
+        for (int i = index; i < nodeCount; i++) {
+            nodes[i].setAttribute(INDEX_ATTRIBUTE, i);
+        }
+        rebind(previous, edited, index);
+    }
+
+    /** Creates the display edge for an edge added to the store; edited must contain it. */
+    Edge addEdge(int u, int v, int weight, CsrGraph edited) {
+        Edge edge = createEdge(u, v, weight);
+        CsrGraph previous = store;
+        rebind(previous, edited, -1);
+        return edge;
+    }
+
+    /** Removes the display edge of {u, v}; edited must be the store without it. */
+    void removeEdge(int u, int v, CsrGraph edited) {
+        Edge edge = edgeBetween(u, v);
+        if (edge != null) {
+            graph.removeEdge(edge);
+        }
+        rebind(store, edited, -1);
+    }
+
+    private Node createNode(int index) {
+        int idNumber = nextIdNumber++;
+        String id = "N" + idNumber;
+        Node node = graph.addNode(id);
+        node.setAttribute("ui.label", id);
+        node.setAttribute(INDEX_ATTRIBUTE, index);
+        nodes[index] = node;
+        idNumbers[index] = idNumber;
+        nodeCount = Math.max(nodeCount, index + 1);
+        return node;
+    }
+
+    private Edge createEdge(int u, int v, int weight) {
+        int a = Math.min(idNumbers[u], idNumbers[v]);
+        int b = Math.max(idNumbers[u], idNumbers[v]);
+        Edge edge = graph.addEdge("E" + a + "-" + b, nodes[u], nodes[v], false);
+        edge.setAttribute("ui.label", weight);
+        return edge;
+    }
+
+    /**
+     * Rebuilds the arc table for edited, reusing the Edge of each arc in previous.
+     * removedNode is the index that was deleted between the two stores, or -1. A new
+     * edge has no arc in previous; it is resolved through GraphStream once. Like the
+     * store copy that precedes it, this is O(n + m) per edit.
+     */
+    private void rebind(CsrGraph previous, CsrGraph edited, int removedNode) {
+        Edge[] table = new Edge[edited.arcCount()];
+        for (int u = 0; u < edited.nodeCount(); u++) {
+            int oldU = removedNode >= 0 && u >= removedNode ? u + 1 : u;
+            for (int arc = edited.firstArc(u); arc < edited.endArc(u); arc++) {
+                int v = edited.arcTarget(arc);
+                int oldV = removedNode >= 0 && v >= removedNode ? v + 1 : v;
+                int oldArc = oldU < previous.nodeCount() && oldV < previous.nodeCount()
+                        ? previous.findArc(oldU, oldV) : -1;
+                table[arc] = oldArc >= 0 ? edgeByArc[oldArc] : nodes[u].getEdgeBetween(nodes[v]);
+            }
+        }
+        edgeByArc = table;
+        store = edited;
+    }
+}
@@ -0,0 +1,210 @@
+import javax.swing.AbstractListModel;
+import javax.swing.SwingUtilities;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Log lines kept in a fixed-size ring buffer and shown through a list model.
+ *
+ * Lines can be appended from any thread. They are queued and moved into the ring on
+ * the event dispatch thread once per frame, however many arrive in between, and the
+ * list is told about the whole batch at once. When the ring is full the oldest lines
+ * are dropped, so memory stays bounded during long traversals. Displayed in a JList
+ * with a fixed cell height, only the visible rows are measured and painted.
+ *
+ * The log can also be copied to a file. Lines are written on a background thread
+ * in the order they were flushed, so the event thread never waits on the disk.
+ */
+class LogBuffer extends AbstractListModel<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int DEFAULT_CAPACITY = 10_000;
+
+    private final String[] lines;
+    private int head;
+    private int size;
+    private long dropped;
+
+    private final Object queueLock = new Object();
+    private List<String> queued = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private ExecutorService spillExecutor;
+    private BufferedWriter spillWriter;
+    private Path spillPath;
+    private Runnable flushListener = () -> { };
+
+    LogBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    LogBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        lines = new String[capacity];
+    }
+
+    /**
+     * Queues message for the next flush; a message with line breaks becomes several
+     * lines. May be called from any thread.
+     */
+    void append(String message) {
+        synchronized (queueLock) {
+            int start = 0;
+            for (int i = message.indexOf('\n'); i >= 0; i = message.indexOf('\n', start)) {
+                queued.add(message.substring(start, i));
+                start = i + 1;
+            }
+            queued.add(message.substring(start));
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::flush);
+    }
+
+    /** Runs after each flush that added lines, e.g. to scroll the view to the end. */
+    void setFlushListener(Runnable flushListener) {
+        this.flushListener = flushListener;
+    }
+
+    /** Moves the queued lines into the ring and notifies the list. Must run on the event dispatch thread. */
+    void flush() {
+        List<String> batch;
+        synchronized (queueLock) {
+            batch = queued;
+            queued = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Only the newest capacity lines of a very large batch can be kept
+        int capacity = lines.length;
+        int skip = Math.max(0, batch.size() - capacity);
+        int kept = batch.size() - skip;
+        int removed = Math.max(0, size + kept - capacity);
+        for (int i = skip; i < batch.size(); i++) {
+            lines[(head + size) % capacity] = batch.get(i);
+            if (size < capacity) {
+                size++;
+            } else {
+                head = (head + 1) % capacity;
+            }
+        }
+        dropped += removed + skip;
+
+        if (removed > 0) {
+            fireIntervalRemoved(this, 0, removed - 1);
+        }
+        fireIntervalAdded(this, size - kept, size - 1);
+        if (spillWriter != null) {
+            BufferedWriter writer = spillWriter;
+            Path path = spillPath;
+            spillExecutor.execute(() -> write(writer, path, batch));
+        }
+        flushListener.run();
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Line " + index + " outside log of " + size + " lines");
+        }
+        return lines[(head + index) % lines.length];
+    }
+
+    int capacity() {
+        return lines.length;
+    }
+
+    /** Number of lines that fell out of the ring since the log was created. */
+    long dropped() {
+        return dropped;
+    }
+
+    /** Removes every line from the view; a file being written is not affected. */
+    void clear() {
+        int previous = size;
+        head = 0;
+        size = 0;
+        if (previous > 0) {
+            fireIntervalRemoved(this, 0, previous - 1);
+        }
+    }
+
+    /**
+     * Starts copying the log to path, replacing the file. The lines still in the ring are
+     * written first, then every flushed line. Must run on the event dispatch thread.
+     */
+    void startSpill(Path path) throws IOException {
+        stopSpill();
+        spillWriter = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        spillPath = path;
+        spillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-spill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<String> current = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            current.add(getElementAt(i));
+        }
+        BufferedWriter writer = spillWriter;
+        spillExecutor.execute(() -> write(writer, path, current));
+    }
+
+    /** Stops copying the log; lines already handed to the writer are still written. */
+    void stopSpill() {
+        if (spillWriter == null) {
+            return;
+        }
+        // The spill thread reads only what is captured here; the fields change with the next spill
+        BufferedWriter writer = spillWriter;
+        Path path = spillPath;
+        spillExecutor.execute(() -> {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("[Log] Could not close " + path + ": " + e.getMessage());
+            }
+        });
+        spillExecutor.shutdown();
+        spillWriter = null;
+        spillExecutor = null;
+    }
+
+    /** File the log is being copied to, or null. */
+    Path spillPath() {
+        return spillWriter != null ? spillPath : null;
+    }
+
+    private static void write(BufferedWriter writer, Path path, List<String> batch) {
+        try {
+            for (String line : batch) {
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // Reported once per failed batch; the view keeps working without the file
+            System.err.println("[Log] Could not write " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+import javax.swing.Timer;
+
+/**
+ * Plays step-by-step animations from one Swing timer that runs at a bounded frame rate.
+ *
+ * The playback rate is given as a number of steps per interval. When that works out
+ * to more than one step per frame, the timer still fires at most once per
+ * {@link #FRAME_INTERVAL} and applies every step that has come due since the last
+ * frame, so the graph is redrawn once per frame however fast the playback is. A
+ * track can also be moved to any step directly, which lets the view scrub through a
+ * traversal or skip to its end without animating the steps in between.
+ *
+ * All methods must be called on the event dispatch thread.
+ */
+class PlaybackScheduler {
+
+    /** Shortest time between two frames, in milliseconds (about 60 frames per second). */
+    static final int FRAME_INTERVAL = 16;
+
+    /** Most steps applied in a single frame, so a frame never holds the event thread for long. */
+    static final int MAX_STEPS_PER_FRAME = 20_000;
+
+    /** A sequence of steps that can be applied one at a time or jumped to. */
+    interface Track {
+
+        /** Applies the next step; only called while {@link #ended()} is false. */
+        void step();
+
+        /** Shows the state after the first position steps, producing steps as needed. */
+        void seek(int position);
+
+        /** Number of steps currently applied. */
+        int position();
+
+        /** Number of steps known so far; grows while steps are being produced. */
+        int length();
+
+        /** Whether the last step has been applied. */
+        boolean ended();
+
+        /** Called once, the first time the track ends. */
+        void finished();
+    }
+
+    private final Timer timer;
+    private final Runnable frameListener;
+    private Track track;
+    private boolean finishReported;
+    private int stepInterval = 1000;
+    private int stepsPerInterval = 1;
+    private double speedUp = 1;
+    private double dueSteps;
+    private long lastFrame;
+
+    /** frameListener runs after every frame and every seek, e.g. to update a position slider. */
+    PlaybackScheduler(Runnable frameListener) {
+        this.frameListener = frameListener;
+        this.timer = new Timer(FRAME_INTERVAL, e -> frame());
+    }
+
+    /** Starts playing track, replacing the current one; speedUp scales the configured rate. */
+    void play(Track track, double speedUp) {
+        timer.stop();
+        this.track = track;
+        this.speedUp = speedUp;
+        finishReported = false;
+        resume();
+    }
+
+    /** Sets the playback rate to stepsPerInterval steps every stepInterval milliseconds. */
+    void setRate(int stepInterval, int stepsPerInterval) {
+        if (stepInterval <= 0 || stepsPerInterval <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + stepsPerInterval + " per " + stepInterval + " ms");
+        }
+        this.stepInterval = stepInterval;
+        this.stepsPerInterval = stepsPerInterval;
+        timer.setDelay(frameDelay());
+    }
+
+    void pause() {
+        timer.stop();
+        frameListener.run();
+    }
+
+    /** Continues playing the current track, if it has steps left. */
+    void resume() {
+        if (track == null || track.ended()) {
+            return;
+        }
+        dueSteps = 0;
+        lastFrame = System.nanoTime();
+        timer.setInitialDelay(frameDelay());
+        timer.setDelay(frameDelay());
+        timer.start();
+        frameListener.run();
+    }
+
+    /** Stops playback and forgets the current track. */
+    void stop() {
+        timer.stop();
+        track = null;
+        frameListener.run();
+    }
+
+    boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    /** Current track, or null. */
+    Track track() {
+        return track;
+    }
+
+    /** Pauses and shows the current track at position, finishing it if that is its end. */
+    void seek(int position) {
+        if (track == null) {
+            return;
+        }
+        timer.stop();
+        track.seek(position);
+        frameListener.run();
+        if (track.ended()) {
+            reportFinished();
+        }
+    }
+
+    /** Applies every remaining step of the current track in one update. */
+    void skipToEnd() {
+        seek(Integer.MAX_VALUE);
+    }
+
+    private void frame() {
+        VisualizerEvents.PlaybackFrame event = new VisualizerEvents.PlaybackFrame();
+        event.begin();
+        long now = System.nanoTime();
+        dueSteps += (now - lastFrame) / 1e6 * stepsPerInterval * speedUp / stepInterval;
+        lastFrame = now;
+
+        // Steps beyond the per-frame cap are dropped rather than carried over, so a slow
+        // frame does not make the next ones slower still. The small allowance keeps a
+        // timer that fires a little early from skipping a frame's only step.
+        int steps = (int) Math.min(dueSteps + 0.01, MAX_STEPS_PER_FRAME);
+        dueSteps = steps == MAX_STEPS_PER_FRAME ? 0 : dueSteps - steps;
+
+        Track playing = track;
+        for (int i = 0; i < steps && !playing.ended(); i++) {
+            playing.step();
+        }
+        boolean ended = playing.ended();
+        if (ended) {
+            timer.stop();
+        }
+        frameListener.run();
+        if (event.shouldCommit()) {
+            event.track = playing.getClass().getSimpleName();
+            event.steps = steps;
+            event.position = playing.position();
+            event.length = playing.length();
+            event.commit();
+        }
+        if (ended) {
+            reportFinished();
+        }
+    }
+
+    private void reportFinished() {
+        if (!finishReported) {
+            finishReported = true;
+            track.finished();
+        }
+    }
+
+    /** Time between frames: one step's worth of time, but never less than a frame. */
+    private int frameDelay() {
+        return Math.max(FRAME_INTERVAL, (int) (stepInterval / (stepsPerInterval * speedUp)));
+    }
+}
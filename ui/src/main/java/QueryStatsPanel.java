@@ -0,0 +1,183 @@
+import routing.Histogram;
+import routing.QueryMetrics;
+import routing.QueryStatistics;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.border.TitledBorder;
+import javax.swing.table.AbstractTableModel;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Table of query metrics aggregated across queries: for the selected kind of query,
+ * the last value, mean, median, 90th and 99th percentile and maximum of every counter.
+ *
+ * Queries record into the shared {@link QueryStatistics} on whatever thread runs them;
+ * the panel refreshes on the event dispatch thread at most once per batch of records.
+ * Collection can be switched off, in which case the engine reads no clock and records
+ * nothing.
+ */
+class QueryStatsPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final QueryMetrics.Counter[] COUNTERS = QueryMetrics.Counter.values();
+    private static final String[] COLUMNS = {"Metric", "Last", "Mean", "p50", "p90", "p99", "Max"};
+
+    private final QueryStatistics statistics;
+    private final JComboBox<String> kindComboBox = new JComboBox<>();
+    private final JLabel countLabel = new JLabel();
+    private final Histogram[] shown = new Histogram[COUNTERS.length];
+    private final AbstractTableModel model = new AbstractTableModel() {
+        @Override
+        public int getRowCount() {
+            return COUNTERS.length;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            if (column == 0) {
+                return COUNTERS[row].toString();
+            }
+            Histogram histogram = shown[row];
+            if (histogram == null || histogram.count() == 0) {
+                return "-";
+            }
+            switch (column) {
+                case 1:
+                    return histogram.last();
+                case 2:
+                    return String.format("%.1f", histogram.mean());
+                case 3:
+                    return histogram.percentile(0.5);
+                case 4:
+                    return histogram.percentile(0.9);
+                case 5:
+                    return histogram.percentile(0.99);
+                default:
+                    return histogram.max();
+            }
+        }
+    };
+    private final Object refreshLock = new Object();
+    private boolean refreshScheduled;
+    private boolean updatingKinds;
+
+    /**
+     * Creates a panel over statistics. collectListener is told the statistics to record
+     * into when collection is switched on, and null when it is switched off.
+     */
+    QueryStatsPanel(QueryStatistics statistics, boolean collecting, Consumer<QueryStatistics> collectListener) {
+        super(new BorderLayout());
+        this.statistics = statistics;
+        setOpaque(false);
+        setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(new Color(0, 0, 255)),
+                "Query Statistics",
+                TitledBorder.LEFT,
+                TitledBorder.TOP,
+                new Font("Arial", Font.BOLD, 14),
+                new Color(0, 0, 255)
+        ));
+
+        JCheckBox collectCheckBox = new JCheckBox("Collect", collecting);
+        collectCheckBox.setOpaque(false);
+        collectCheckBox.addActionListener(e ->
+                collectListener.accept(collectCheckBox.isSelected() ? statistics : null));
+
+        JButton resetButton = new JButton("Reset");
+        resetButton.addActionListener(e -> {
+            statistics.clear();
+            refresh();
+        });
+
+        kindComboBox.addActionListener(e -> {
+            if (!updatingKinds) {
+                refresh();
+            }
+        });
+
+        JPanel header = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        header.setOpaque(false);
+        header.add(kindComboBox);
+        header.add(countLabel);
+        header.add(collectCheckBox);
+        header.add(resetButton);
+        add(header, BorderLayout.NORTH);
+
+        JTable table = new JTable(model);
+        table.setFont(new Font("Arial", Font.PLAIN, 12));
+        table.setRowSelectionAllowed(false);
+        table.getColumnModel().getColumn(0).setPreferredWidth(110);
+        JScrollPane tableScrollPane = new JScrollPane(table);
+        tableScrollPane.setPreferredSize(new Dimension(300,
+                table.getRowHeight() * (COUNTERS.length + 1) + table.getTableHeader().getPreferredSize().height));
+        add(tableScrollPane, BorderLayout.CENTER);
+
+        statistics.setRecordListener(this::scheduleRefresh);
+        refresh();
+    }
+
+    // Records can arrive from any thread and in bursts; one refresh per burst is enough
+    private void scheduleRefresh() {
+        synchronized (refreshLock) {
+            if (refreshScheduled) {
+                return;
+            }
+            refreshScheduled = true;
+        }
+        SwingUtilities.invokeLater(() -> {
+            synchronized (refreshLock) {
+                refreshScheduled = false;
+            }
+            refresh();
+        });
+    }
+
+    /** Reloads the kinds and the selected kind's histograms. Must run on the event dispatch thread. */
+    void refresh() {
+        List<String> kinds = statistics.kinds();
+        if (kinds.size() != kindComboBox.getItemCount()) {
+            updatingKinds = true;
+            kindComboBox.removeAllItems();
+            for (String kind : kinds) {
+                kindComboBox.addItem(kind);
+            }
+            // Switch to a kind that just appeared, so the first query of an algorithm shows up
+            if (!kinds.isEmpty()) {
+                kindComboBox.setSelectedItem(kinds.get(kinds.size() - 1));
+            }
+            updatingKinds = false;
+        }
+
+        String selected = (String) kindComboBox.getSelectedItem();
+        for (int i = 0; i < COUNTERS.length; i++) {
+            shown[i] = selected != null ? statistics.histogram(selected, COUNTERS[i]) : null;
+        }
+        countLabel.setText(selected != null ? statistics.count(selected) + " queries" : "No queries yet");
+        model.fireTableDataChanged();
+    }
+}
@@ -0,0 +1,119 @@
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Element;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+
+import javax.swing.SwingUtilities;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Tracks which graph elements carry a ui.class and applies class changes in batches.
+ *
+ * Elements without a class are drawn with the stylesheet defaults, so resetting the
+ * view only has to touch the elements recorded here instead of every node and edge.
+ * Changes are buffered and written to GraphStream once per frame, on the first
+ * event-queue turn after they were made. An element that is changed several times
+ * within a frame is written once, and not at all if it ends up with the class it
+ * already had.
+ *
+ * All methods must be called on the event dispatch thread.
+ */
+class RenderState {
+
+    private final Graph graph;
+    private final Map<Element, String> applied = new IdentityHashMap<>();
+    private final Map<Element, String> pending = new IdentityHashMap<>();
+    private boolean flushScheduled;
+
+    RenderState(Graph graph) {
+        this.graph = graph;
+    }
+
+    /** Gives element the style class cls from the next frame on. */
+    void setClass(Element element, String cls) {
+        pending.put(element, cls);
+        scheduleFlush();
+    }
+
+    /** Returns element to the default style from the next frame on. */
+    void clearClass(Element element) {
+        if (applied.containsKey(element) || pending.containsKey(element)) {
+            pending.put(element, null);
+            scheduleFlush();
+        }
+    }
+
+    /** Returns every classed element to the default style; cost is proportional to their number. */
+    void clearAll() {
+        pending.replaceAll((element, cls) -> null);
+        for (Element element : applied.keySet()) {
+            pending.put(element, null);
+        }
+        scheduleFlush();
+    }
+
+    /** Returns every classed node to the default style, leaving edges alone. */
+    void clearNodes() {
+        pending.replaceAll((element, cls) -> element instanceof Node ? null : cls);
+        for (Element element : applied.keySet()) {
+            if (element instanceof Node) {
+                pending.put(element, null);
+            }
+        }
+        scheduleFlush();
+    }
+
+    /** Class element will have after the next frame, or null for the default style. */
+    String classOf(Element element) {
+        return pending.containsKey(element) ? pending.get(element) : applied.get(element);
+    }
+
+    /** Number of elements currently drawn with a non-default class. */
+    int classedCount() {
+        return applied.size();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    /** Writes the buffered changes to the graph. */
+    void flush() {
+        flushScheduled = false;
+        for (Map.Entry<Element, String> change : pending.entrySet()) {
+            Element element = change.getKey();
+            String cls = change.getValue();
+
+            // Elements removed from the graph since the change was made are dropped
+            if (!isInGraph(element)) {
+                applied.remove(element);
+                continue;
+            }
+            String current = applied.get(element);
+            if (cls == null) {
+                if (current != null) {
+                    element.removeAttribute("ui.class");
+                    applied.remove(element);
+                }
+            } else if (!cls.equals(current)) {
+                element.setAttribute("ui.class", cls);
+                applied.put(element, cls);
+            }
+        }
+        pending.clear();
+    }
+
+    private boolean isInGraph(Element element) {
+        if (element instanceof Node) {
+            return graph.getNode(element.getId()) == element;
+        }
+        if (element instanceof Edge) {
+            return graph.getEdge(element.getId()) == element;
+        }
+        return false;
+    }
+}
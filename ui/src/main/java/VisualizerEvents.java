@@ -0,0 +1,134 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events emitted by the visualizer.
+ *
+ * Together with the engine's routing events they split a slow interaction into
+ * algorithm time (route queries, connectivity updates), graph construction and
+ * playback frames; whatever is left of a stall in the recording is GraphStream
+ * rendering or Swing. Fields are only filled in when a recording wants the event.
+ */
+final class VisualizerEvents {
+
+    private VisualizerEvents() {
+    }
+
+    @Name("visualizer.GraphConstruction")
+    @Label("Graph Construction")
+    @Category({"Visualizer", "Graph"})
+    @Description("Building the GraphStream graph and its id registry from the graph store")
+    @StackTrace(false)
+    static final class GraphConstruction extends Event {
+        @Label("Nodes")
+        int nodeCount;
+
+        @Label("Edges")
+        int edgeCount;
+    }
+
+    @Name("visualizer.TopologyEdit")
+    @Label("Topology Edit")
+    @Category({"Visualizer", "Graph"})
+    @Description("Adding or removing a node or edge, including the store, index, cache and GraphStream updates")
+    @StackTrace(false)
+    static final class TopologyEdit extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Element")
+        String element;
+
+        @Label("Nodes")
+        @Description("Node count after the edit")
+        int nodeCount;
+
+        @Label("Edges")
+        @Description("Edge count after the edit")
+        int edgeCount;
+
+        @Label("Components")
+        @Description("Connected components after the edit")
+        int componentCount;
+    }
+
+    @Name("visualizer.DfsTraversal")
+    @Label("DFS Traversal")
+    @Category({"Visualizer", "Traversal"})
+    @Description("A DFS traversal from its start to its last played step; spans playback, so see Playback Frame for the work per tick")
+    @StackTrace(false)
+    static final class DfsTraversal extends Event {
+        @Label("Source")
+        String source;
+
+        @Label("Destination")
+        String destination;
+
+        @Label("Graph Nodes")
+        int nodeCount;
+
+        @Label("Steps")
+        int steps;
+
+        @Label("Visited Nodes")
+        int visitedNodes;
+
+        @Label("Considered Arcs")
+        int consideredArcs;
+
+        @Label("Peak Depth")
+        int peakDepth;
+    }
+
+    @Name("visualizer.Pathfinding")
+    @Label("Pathfinding")
+    @Category({"Visualizer", "Search"})
+    @Description("Looking up the shortest path after a traversal, from the route cache or the routing engine")
+    @StackTrace(false)
+    static final class Pathfinding extends Event {
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Source")
+        String source;
+
+        @Label("Destination")
+        String destination;
+
+        @Label("Cache Hit")
+        boolean cacheHit;
+
+        @Label("Distance")
+        @Description("Total weight of the path, or -1 if the destination is unreachable")
+        int distance;
+
+        @Label("Path Length")
+        int pathLength;
+
+        @Label("Settled Nodes")
+        int settledNodes;
+    }
+
+    @Name("visualizer.PlaybackFrame")
+    @Label("Playback Frame")
+    @Category({"Visualizer", "Playback"})
+    @Description("One timer tick of traversal or path playback: the steps applied and the frame listener")
+    @StackTrace(false)
+    static final class PlaybackFrame extends Event {
+        @Label("Track")
+        String track;
+
+        @Label("Steps")
+        int steps;
+
+        @Label("Position")
+        int position;
+
+        @Label("Length")
+        int length;
+    }
+}